@@ -0,0 +1,330 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.impl;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.fcrepo.client.AsyncFedoraRepository;
+import org.fcrepo.client.FedoraContent;
+import org.fcrepo.client.FedoraDatastream;
+import org.fcrepo.client.FedoraException;
+import org.fcrepo.client.FedoraObject;
+import org.fcrepo.client.NotFoundException;
+import org.fcrepo.client.utils.ConnectionPoolConfig;
+import org.fcrepo.client.utils.ExistenceCache;
+import org.fcrepo.client.utils.HttpHelper;
+import org.fcrepo.client.utils.PropertiesCache;
+import org.slf4j.Logger;
+
+/**
+ * AsyncFedoraRepository backed by a non-blocking HTTP client, so a small number of I/O dispatch threads can
+ * drive many concurrent requests.  Responses are read and parsed on a separate executor, so slow parsing never
+ * holds up the I/O dispatch threads.  Resources returned by this repository are bound to a synchronous
+ * FedoraRepositoryImpl for any further operations.
+ *
+ * @author agent
+ * @since 2026-10-16
+ */
+public class AsyncFedoraRepositoryImpl implements AsyncFedoraRepository {
+    private static final Logger LOGGER = getLogger(AsyncFedoraRepositoryImpl.class);
+
+    private final FedoraRepositoryImpl repository;
+    private final HttpHelper httpHelper;
+    private final CloseableHttpAsyncClient asyncClient;
+    private final boolean ownsAsyncClient;
+    private volatile Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * Constructor that takes the repository url
+     *
+     * @param repositoryURL Fedora base URL.
+     */
+    public AsyncFedoraRepositoryImpl(final String repositoryURL) {
+        this(repositoryURL, (String) null, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param repositoryURL Repository base URL
+     * @param username Repository username
+     * @param password Repository password
+     */
+    public AsyncFedoraRepositoryImpl(final String repositoryURL, final String username, final String password) {
+        this(new FedoraRepositoryImpl(repositoryURL, username, password),
+             HttpHelper.buildAsyncClient(username, password, repositoryURL), true);
+    }
+
+    /**
+     * Constructor that takes connection pool settings, applied to both the blocking and the non-blocking client
+     *
+     * @param repositoryURL Repository base URL
+     * @param username Repository username
+     * @param password Repository password
+     * @param poolConfig Connection pool settings
+     */
+    public AsyncFedoraRepositoryImpl(final String repositoryURL, final String username, final String password,
+                                     final ConnectionPoolConfig poolConfig) {
+        this(new FedoraRepositoryImpl(repositoryURL, username, password, poolConfig),
+             HttpHelper.buildAsyncClient(username, password, repositoryURL, poolConfig), true);
+    }
+
+    /**
+     * Constructor that takes pre-configured clients.  The async client is started if it is not already running,
+     * but is not closed by this repository; both clients remain the responsibility of the caller.
+     *
+     * @param repositoryURL Repository baseURL
+     * @param httpClient Pre-configured httpClient, used by the resources returned from this repository
+     * @param asyncClient Pre-configured non-blocking client
+     */
+    public AsyncFedoraRepositoryImpl(final String repositoryURL, final HttpClient httpClient,
+                                     final CloseableHttpAsyncClient asyncClient) {
+        this(new FedoraRepositoryImpl(repositoryURL, httpClient), asyncClient, false);
+    }
+
+    private AsyncFedoraRepositoryImpl(final FedoraRepositoryImpl repository,
+                                      final CloseableHttpAsyncClient asyncClient, final boolean ownsAsyncClient) {
+        this.repository = repository;
+        this.httpHelper = repository.httpHelper;
+        this.asyncClient = asyncClient;
+        this.ownsAsyncClient = ownsAsyncClient;
+        if (!asyncClient.isRunning()) {
+            asyncClient.start();
+        }
+    }
+
+    @Override
+    public String getRepositoryUrl() {
+        return repository.getRepositoryUrl();
+    }
+
+    /**
+     * Set the cache of which paths exist, shared with the resources returned by this repository.
+     *
+     * @param existenceCache Cache of existence checks, or null to always ask the repository
+     */
+    public void setExistenceCache(final ExistenceCache existenceCache) {
+        repository.setExistenceCache(existenceCache);
+    }
+
+    /**
+     * Set the cache used to revalidate properties, shared with the resources returned by this repository.
+     *
+     * @param propertiesCache Cache of loaded properties, or null to always download properties
+     */
+    public void setPropertiesCache(final PropertiesCache propertiesCache) {
+        repository.setPropertiesCache(propertiesCache);
+    }
+
+    /**
+     * Set the executor responses are read and parsed on, and the futures returned by this repository are
+     * completed on.  The default is the common fork-join pool.
+     *
+     * @param executor Executor for reading responses
+     */
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final String path) {
+        final Boolean cached = repository.getCachedExists(path);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        final boolean inTransaction = repository.inTransaction();
+        final HttpHead head = httpHelper.createHeadMethod(repository.prependTransactionId(path));
+        return execute(head, new ResponseReader<Boolean>() {
+            @Override
+            public Boolean read(final HttpResponse response) throws FedoraException {
+                final boolean exists = repository.readExists(head.getURI().toString(), response);
+                recordExists(path, inTransaction, exists);
+                return exists;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<FedoraDatastream> getDatastream(final String path) {
+        return this.<FedoraDatastream>loadProperties(repository.newDatastream(path));
+    }
+
+    @Override
+    public CompletableFuture<FedoraObject> getObject(final String path) {
+        return this.<FedoraObject>loadProperties(repository.newObject(path));
+    }
+
+    @Override
+    public CompletableFuture<FedoraDatastream> createDatastream(final String path, final FedoraContent content) {
+        final boolean inTransaction = repository.inTransaction();
+        // the new datastream is created here rather than after the PUT, as only the calling thread knows the
+        // transaction, if any
+        final FedoraDatastreamImpl datastream = repository.newDatastream(path);
+        final HttpPut put = httpHelper.createContentPutMethod(repository.prependTransactionId(path), null, content);
+        return execute(put, new ResponseReader<FedoraResourceImpl>() {
+            @Override
+            public FedoraResourceImpl read(final HttpResponse response) throws FedoraException {
+                repository.checkCreated(put.getURI().toString(), response);
+                return created(datastream, inTransaction);
+            }
+        }).thenCompose(new Function<FedoraResourceImpl, CompletableFuture<FedoraDatastream>>() {
+            @Override
+            public CompletableFuture<FedoraDatastream> apply(final FedoraResourceImpl created) {
+                return loadProperties(created, inTransaction);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<FedoraObject> createObject(final String path) {
+        final boolean inTransaction = repository.inTransaction();
+        final FedoraObjectImpl object = repository.newObject(path);
+        final HttpPut put = httpHelper.createPutMethod(repository.prependTransactionId(path), null);
+        return execute(put, new ResponseReader<FedoraResourceImpl>() {
+            @Override
+            public FedoraResourceImpl read(final HttpResponse response) throws FedoraException {
+                repository.checkCreated(put.getURI().toString(), response);
+                return created(object, inTransaction);
+            }
+        }).thenCompose(new Function<FedoraResourceImpl, CompletableFuture<FedoraObject>>() {
+            @Override
+            public CompletableFuture<FedoraObject> apply(final FedoraResourceImpl created) {
+                return loadProperties(created, inTransaction);
+            }
+        });
+    }
+
+    /**
+     * Record a resource this client created, so later loads of it do not join a load that started before it
+     * existed.
+     */
+    private FedoraResourceImpl created(final FedoraResourceImpl resource, final boolean inTransaction) {
+        recordExists(resource.getPath(), inTransaction, true);
+        httpHelper.discardLoads(resource.getPropertiesPath());
+        return resource;
+    }
+
+    /**
+     * Shut down the non-blocking client built by this repository and release its connections.  A pre-configured
+     * async client is left running.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownsAsyncClient) {
+            asyncClient.close();
+        }
+        repository.close();
+    }
+
+    private <T> CompletableFuture<T> loadProperties(final FedoraResourceImpl resource) {
+        return loadProperties(resource, repository.inTransaction());
+    }
+
+    /**
+     * Load the properties of a resource through HttpHelper, which coalesces concurrent loads, revalidates cached
+     * properties and falls back to RDF/XML, as for the synchronous repository.
+     */
+    private <T> CompletableFuture<T> loadProperties(final FedoraResourceImpl resource, final boolean inTransaction) {
+        return unwrap(httpHelper.loadProperties(resource, asyncClient, executor).handle(
+                new BiFunction<FedoraResourceImpl, Throwable, T>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public T apply(final FedoraResourceImpl loaded, final Throwable failure) {
+                        if (failure == null) {
+                            recordExists(resource.getPath(), inTransaction, true);
+                            return (T) loaded;
+                        }
+                        final Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                                ? failure.getCause() : failure;
+                        if (cause instanceof NotFoundException) {
+                            recordExists(resource.getPath(), inTransaction, false);
+                        }
+                        throw new CompletionException(cause);
+                    }
+                }));
+    }
+
+    /**
+     * Cache whether a path exists, unless the request was made in a transaction.  Responses are read on the
+     * async client's threads, so whether there was a transaction is determined when the request is made.
+     */
+    private void recordExists(final String path, final boolean inTransaction, final boolean exists) {
+        if (!inTransaction) {
+            repository.recordExists(path, exists);
+        }
+    }
+
+    private <T> CompletableFuture<T> execute(final HttpUriRequest request, final ResponseReader<T> reader) {
+        final String uri = request.getURI().toString();
+        return unwrap(httpHelper.execute(request, asyncClient).thenApplyAsync(new Function<HttpResponse, T>() {
+            @Override
+            public T apply(final HttpResponse response) {
+                try {
+                    return reader.read(response);
+                } catch (final FedoraException e) {
+                    throw new CompletionException(e);
+                } catch (final Exception e) {
+                    LOGGER.error("Error reading response for {}: {}", uri, e.getMessage());
+                    throw new CompletionException(new FedoraException(e));
+                }
+            }
+        }, executor));
+    }
+
+    /**
+     * Get a future completed with the result of a stage, or with the exception it failed with rather than the
+     * CompletionException wrapping it, so the futures returned by this repository fail with a FedoraException.
+     */
+    private static <T> CompletableFuture<T> unwrap(final CompletionStage<T> stage) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        stage.whenComplete(new BiConsumer<T, Throwable>() {
+            @Override
+            public void accept(final T value, final Throwable failure) {
+                if (failure == null) {
+                    future.complete(value);
+                } else if (failure instanceof CompletionException && failure.getCause() != null) {
+                    future.completeExceptionally(failure.getCause());
+                } else {
+                    future.completeExceptionally(failure);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Converts a response into the value a future is completed with.
+     */
+    private interface ResponseReader<T> {
+        T read(final HttpResponse response) throws FedoraException, IOException;
+    }
+}
@@ -30,11 +30,27 @@ import static org.fcrepo.kernel.api.RdfLexicon.HAS_MIME_TYPE;
 import static org.fcrepo.kernel.api.RdfLexicon.HAS_SIZE;
 import static org.fcrepo.kernel.api.RdfLexicon.REPOSITORY_NAMESPACE;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
 
 import org.fcrepo.client.ForbiddenException;
 import org.fcrepo.client.NotFoundException;
@@ -58,6 +74,7 @@ import org.fcrepo.client.FedoraException;
 import org.fcrepo.client.FedoraObject;
 import org.fcrepo.client.FedoraRepository;
 import org.fcrepo.client.utils.HttpHelper;
+import org.fcrepo.client.utils.RangeByteChannel;
 
 import org.fcrepo.kernel.api.FedoraTypes;
 import org.slf4j.Logger;
@@ -71,7 +88,13 @@ import org.slf4j.Logger;
 public class FedoraDatastreamImpl extends FedoraResourceImpl implements FedoraDatastream {
     private static final Logger LOGGER = getLogger(FedoraDatastreamImpl.class);
     protected static final Property REST_API_DIGEST = createProperty(REPOSITORY_NAMESPACE + "digest");
-    private boolean hasContent;
+
+    /** Number of bytes transferred into a file at a time. */
+    private static final int TRANSFER_BUFFER_SIZE = 256 * 1024;
+
+    /** Size of the buffer content is copied through into other channels. */
+    private static final int COPY_BUFFER_SIZE = 8 * 1024;
+
     private Node contentSubject;
 
     /**
@@ -88,9 +111,30 @@ public class FedoraDatastreamImpl extends FedoraResourceImpl implements FedoraDa
     }
 
     @Override
-    public void setGraph( final Graph graph ) {
-        super.setGraph( graph );
-        hasContent = getTriple( subject, DESCRIBES ) != null;
+    protected DatastreamSnapshot createSnapshot( final Graph graph ) {
+        return new DatastreamSnapshot(this, graph);
+    }
+
+    @Override
+    protected DatastreamSnapshot getSnapshot() throws FedoraException {
+        return (DatastreamSnapshot) super.getSnapshot();
+    }
+
+    /**
+     * Get the predicates kept when properties are loaded.  A projection always keeps the link to the content,
+     * which hasContent depends on.
+     *
+     * @return the predicates to keep, including Node.ANY if all properties are kept
+     */
+    @Override
+    public Node[] getProjection() {
+        final Node[] projection = super.getProjection();
+        if (!isProjected()) {
+            return projection;
+        }
+        final Node[] withContent = Arrays.copyOf(projection, projection.length + 1);
+        withContent[projection.length] = DESCRIBES.asNode();
+        return withContent;
     }
 
     @Override
@@ -100,7 +144,7 @@ public class FedoraDatastreamImpl extends FedoraResourceImpl implements FedoraDa
 
     @Override
     public boolean hasContent() throws FedoraException {
-        return hasContent;
+        return getSnapshot().hasContent;
     }
 
     @Override
@@ -118,46 +162,26 @@ public class FedoraDatastreamImpl extends FedoraResourceImpl implements FedoraDa
 
     @Override
     public URI getContentDigest() throws FedoraException {
-        final Node contentDigest = getObjectValue( REST_API_DIGEST );
-        try {
-            if ( contentDigest == null ) {
-                return null;
-            }
-
-            return new URI( contentDigest.getURI() );
-        } catch ( final URISyntaxException e ) {
-            throw new FedoraException("Error parsing checksum URI: " + contentDigest.getURI(), e);
+        final DatastreamSnapshot snapshot = getSnapshot();
+        if ( snapshot.contentDigest == null && snapshot.contentDigestValue != null ) {
+            throw new FedoraException("Error parsing checksum URI: " + snapshot.contentDigestValue);
         }
+        return snapshot.contentDigest;
     }
 
     @Override
     public Long getContentSize() throws FedoraException {
-        final Node size = getObjectValue( HAS_SIZE );
-        if ( size == null ) {
-            return null;
-        }
-
-        return new Long( size.getLiteralValue().toString() );
+        return getSnapshot().contentSize;
     }
 
     @Override
     public String getFilename() throws FedoraException {
-        final Node filename = getObjectValue( HAS_ORIGINAL_NAME );
-        if ( filename == null ) {
-            return null;
-        }
-
-        return filename.getLiteralValue().toString();
+        return getSnapshot().filename;
     }
 
     @Override
     public String getContentType() throws FedoraException {
-        final Node contentType = getObjectValue( HAS_MIME_TYPE );
-        if ( contentType == null ) {
-            return null;
-        }
-
-        return contentType.getLiteralValue().toString();
+        return getSnapshot().contentType;
     }
 
     @Override
@@ -189,7 +213,7 @@ public class FedoraDatastreamImpl extends FedoraResourceImpl implements FedoraDa
             }
 
             // update properties from server
-            httpHelper.loadProperties(this);
+            propertiesUpdated();
 
         } catch (final FedoraException e) {
             throw e;
@@ -204,6 +228,140 @@ public class FedoraDatastreamImpl extends FedoraResourceImpl implements FedoraDa
     @Override
     public InputStream getContent() throws FedoraException {
         final HttpGet get = httpHelper.createGetMethod( path, null );
+        boolean streaming = false;
+        try {
+            final InputStream content = executeContentGet( get );
+            streaming = true;
+            return content;
+        } finally {
+            // on success the connection is released when the caller closes the stream
+            if ( !streaming ) {
+                get.releaseConnection();
+            }
+        }
+    }
+
+    @Override
+    public long getContent( final WritableByteChannel channel ) throws FedoraException {
+        final HttpGet get = httpHelper.createGetMethod( path, null );
+        boolean complete = false;
+        try {
+            final InputStream content = executeContentGet( get );
+            final long transferred;
+            if ( channel instanceof FileChannel && isWithinFile( (FileChannel) channel ) ) {
+                transferred = transferToFile( Channels.newChannel( content ), (FileChannel) channel );
+            } else {
+                transferred = transferToChannel( content, channel );
+            }
+            // closing the content reads any remaining body, so the connection can be reused
+            content.close();
+            complete = true;
+            return transferred;
+        } catch (final FedoraException e) {
+            throw e;
+        } catch (final IOException e) {
+            LOGGER.error("error transferring content of resource {}", get.getURI(), e);
+            throw new FedoraException(e);
+        } finally {
+            // a failed transfer discards the connection instead of reading the rest of the body to reuse it
+            if ( !complete ) {
+                get.abort();
+            }
+            get.releaseConnection();
+        }
+    }
+
+    /**
+     * Copy content into a channel through a small heap buffer, reading the stream directly rather than through
+     * Channels.newChannel, which would copy each read through a buffer of its own.
+     */
+    private static long transferToChannel( final InputStream content, final WritableByteChannel channel )
+            throws IOException {
+        final byte[] bytes = new byte[COPY_BUFFER_SIZE];
+        final ByteBuffer buffer = ByteBuffer.wrap( bytes );
+        long transferred = 0;
+        int count;
+        while ( (count = content.read( bytes )) != -1 ) {
+            buffer.limit( count );
+            while ( buffer.hasRemaining() ) {
+                transferred += channel.write( buffer );
+            }
+            buffer.clear();
+        }
+        return transferred;
+    }
+
+    /**
+     * FileChannel.transferFrom does not write past the end of the file, so it is only used when the channel is
+     * positioned within the file or at its end.
+     */
+    private static boolean isWithinFile( final FileChannel file ) throws IOException {
+        return file.position() <= file.size();
+    }
+
+    /**
+     * Copy content into a file channel at its current position, letting the file channel read from the content
+     * directly instead of through an intermediate buffer.
+     */
+    private static long transferToFile( final ReadableByteChannel content, final FileChannel file )
+            throws IOException {
+        final long start = file.position();
+        long transferred = 0;
+        long count;
+        while ( (count = file.transferFrom( content, start + transferred, TRANSFER_BUFFER_SIZE )) > 0 ) {
+            transferred += count;
+        }
+        file.position( start + transferred );
+        return transferred;
+    }
+
+    @Override
+    public long getContent( final Path file ) throws FedoraException {
+        // the content is written to a hidden sibling and moved over the target once complete, so a failed
+        // transfer never leaves a truncated or partial file in its place
+        final Path target = file.toAbsolutePath();
+        final Path temp = target.resolveSibling( "." + target.getFileName() + "." + UUID.randomUUID() + ".part" );
+        boolean moved = false;
+        try {
+            final long transferred;
+            try (final FileChannel channel = FileChannel.open( temp, CREATE_NEW, WRITE )) {
+                transferred = getContent( channel );
+            }
+            try {
+                Files.move( temp, target, REPLACE_EXISTING, ATOMIC_MOVE );
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move( temp, target, REPLACE_EXISTING );
+            }
+            moved = true;
+            return transferred;
+        } catch (final IOException e) {
+            LOGGER.error("error writing content of resource {} to {}", path, file, e);
+            throw new FedoraException(e);
+        } finally {
+            if ( !moved ) {
+                deleteTempFile( temp );
+            }
+        }
+    }
+
+    private static void deleteTempFile( final Path temp ) {
+        try {
+            Files.deleteIfExists( temp );
+        } catch (final IOException e) {
+            LOGGER.warn("could not delete temporary file {}", temp, e);
+        }
+    }
+
+    @Override
+    public SeekableByteChannel getContentChannel() throws FedoraException {
+        final Long size = getContentSize();
+        return new RangeByteChannel( httpHelper, path, size == null ? -1 : size );
+    }
+
+    /**
+     * Execute a request for the content of this datastream and get the response body.
+     */
+    private InputStream executeContentGet( final HttpGet get ) throws FedoraException {
         final String uri = get.getURI().toString();
 
         try {
@@ -224,11 +382,11 @@ public class FedoraDatastreamImpl extends FedoraResourceImpl implements FedoraDa
                 throw new FedoraException("error retrieving resource " + uri + ": " + status.getStatusCode() + " " +
                                           status.getReasonPhrase());
             }
+        } catch (final FedoraException e) {
+            throw e;
         } catch (final Exception e) {
             LOGGER.error("could not encode URI parameter", e);
             throw new FedoraException(e);
-        } finally {
-            get.releaseConnection();
         }
     }
 
@@ -237,16 +395,64 @@ public class FedoraDatastreamImpl extends FedoraResourceImpl implements FedoraDa
         throw new NotImplemented("Method checkFixity() is not implemented");
     }
 
-    private Node getObjectValue( final Property property ) {
-        if ( !hasContent ) {
-            return null;
+    /**
+     * Property values of a datastream and its content, extracted once when the properties graph is set.
+     */
+    protected static class DatastreamSnapshot extends PropertySnapshot {
+        private final boolean hasContent;
+        private final URI contentDigest;
+        private final String contentDigestValue;
+        private final Long contentSize;
+        private final String filename;
+        private final String contentType;
+
+        /**
+         * Extract the property values of a datastream from a graph.
+         *
+         * @param datastream The datastream
+         * @param graph The properties graph of the datastream
+         */
+        protected DatastreamSnapshot(final FedoraDatastreamImpl datastream, final Graph graph) {
+            super(datastream, graph);
+            hasContent = graph.contains( datastream.subject, DESCRIBES.asNode(), Node.ANY );
+            final Node digest = getContentValue( datastream, graph, REST_API_DIGEST );
+            contentDigestValue = digest == null ? null : digest.getURI();
+            contentDigest = parseURI( contentDigestValue );
+            final Node size = getContentValue( datastream, graph, HAS_SIZE );
+            contentSize = size == null ? null : parseLong( size.getLiteralLexicalForm() );
+            filename = getLiteral( getContentValue( datastream, graph, HAS_ORIGINAL_NAME ) );
+            contentType = getLiteral( getContentValue( datastream, graph, HAS_MIME_TYPE ) );
         }
 
-        final Triple t = getTriple( contentSubject, property );
-        if ( t == null ) {
-            return null;
+        private Node getContentValue( final FedoraDatastreamImpl datastream, final Graph graph,
+                                      final Property property ) {
+            if ( !hasContent ) {
+                return null;
+            }
+            final Triple t = getTriple( graph, datastream.contentSubject, property );
+            return t == null ? null : t.getObject();
+        }
+
+        private static String getLiteral( final Node node ) {
+            return node == null ? null : node.getLiteralValue().toString();
         }
 
-        return t.getObject();
+        private static URI parseURI( final String value ) {
+            try {
+                return value == null ? null : new URI( value );
+            } catch ( final URISyntaxException e ) {
+                LOGGER.debug("Invalid checksum URI: {}", value);
+                return null;
+            }
+        }
+
+        private static Long parseLong( final String value ) {
+            try {
+                return Long.valueOf( value );
+            } catch ( final NumberFormatException e ) {
+                LOGGER.debug("Invalid content size: {}", value);
+                return null;
+            }
+        }
     }
 }
@@ -15,22 +15,40 @@
  */
 package org.fcrepo.client.impl;
 
+import com.hp.hpl.jena.graph.Graph;
 import com.hp.hpl.jena.graph.Node;
 import com.hp.hpl.jena.graph.NodeFactory;
 import com.hp.hpl.jena.graph.Triple;
 import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import com.hp.hpl.jena.util.iterator.Filter;
+import com.hp.hpl.jena.util.iterator.Map1;
 import org.fcrepo.client.FedoraException;
 import org.fcrepo.client.FedoraObject;
 import org.fcrepo.client.FedoraRepository;
 import org.fcrepo.client.FedoraResource;
 import org.fcrepo.client.utils.HttpHelper;
+import org.slf4j.Logger;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
+import static com.hp.hpl.jena.graph.Factory.createDefaultGraph;
 import static org.fcrepo.kernel.api.RdfLexicon.CONTAINS;
 import static org.fcrepo.kernel.api.RdfLexicon.HAS_MIXIN_TYPE;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * A Fedora Object Impl.
@@ -40,8 +58,11 @@ import static org.fcrepo.kernel.api.RdfLexicon.HAS_MIXIN_TYPE;
  * @since 2014-08-11
  */
 public class FedoraObjectImpl extends FedoraResourceImpl implements FedoraObject {
+    private static final Logger LOGGER = getLogger(FedoraObjectImpl.class);
     private final static Node binaryType = NodeFactory.createLiteral("fedora:Binary");
 
+    private ExecutorService childExecutor;
+
     /**
      * Constructor for FedoraObjectImpl
      *
@@ -54,28 +75,209 @@ public class FedoraObjectImpl extends FedoraResourceImpl implements FedoraObject
     }
 
     /**
-     * Get the Object and Datastream nodes that are children of the current Object.
+     * Set the executor used to load children in parallel.  If null, the repository's current child executor is
+     * used, and if it has none, children are loaded one at a time on the calling thread.
+     *
+     * @param childExecutor Executor for loading children, or null to use the repository's.
+     */
+    public void setChildExecutor(final ExecutorService childExecutor) {
+        this.childExecutor = childExecutor;
+    }
+
+    /**
+     * Get the executor to load children on.  The repository's executor is looked up at call time, since it is
+     * replaced when the concurrency changes and shut down when the repository is closed.
+     *
+     * @return the executor, or null if children should be loaded sequentially
+     */
+    private ExecutorService getChildExecutor() {
+        ExecutorService executor = childExecutor;
+        if ( executor == null && repository instanceof FedoraRepositoryImpl ) {
+            executor = ((FedoraRepositoryImpl) repository).getChildExecutor();
+        }
+        return executor == null || executor.isShutdown() ? null : executor;
+    }
+
+    /**
+     * Get the Object and Datastream nodes that are children of the current Object.  Object children whose
+     * properties were embedded in this Object's full properties are built from those triples without another
+     * request.  Datastream children are returned as handles that load their properties on first access, since
+     * their content properties are not embedded.  The remaining children are loaded from the repository.
      *
      * @param mixin If not null, limit to results that have this mixin.
      */
     public Collection<FedoraResource> getChildren(final String mixin) throws FedoraException {
-        Node mixinLiteral = null;
-        if ( mixin != null ) {
-            mixinLiteral = NodeFactory.createLiteral(mixin);
-        }
-        final ExtendedIterator<Triple> it = graph.find(Node.ANY, CONTAINS.asNode(), Node.ANY);
+        final Graph graph = getLoadedGraph();
+        final Iterator<Node> it = getChildNodes(graph, mixin);
         final Set<FedoraResource> set = new HashSet<>();
+        final List<Callable<FedoraResource>> loaders = new ArrayList<>();
         while (it.hasNext()) {
-            final Node child = it.next().getObject();
-            if ( mixin == null || graph.contains(child, HAS_MIXIN_TYPE.asNode(), mixinLiteral) ) {
-                final String path = child.getURI().toString()
-                        .replaceAll(repository.getRepositoryUrl(),"");
-                if ( graph.contains(child, HAS_MIXIN_TYPE.asNode(), binaryType) ) {
-                    set.add( repository.getDatastream(path) );
-                } else {
-                    set.add( repository.getObject(path) );
+            final Node child = it.next();
+            final String path = getChildPath(child);
+            final boolean binary = graph.contains(child, HAS_MIXIN_TYPE.asNode(), binaryType);
+            if ( binary ) {
+                set.add( createChild(path, true) );
+                continue;
+            }
+            final Graph embedded = getEmbeddedGraph(graph, child);
+            if ( embedded != null ) {
+                final FedoraResourceImpl resource = createChild(path, false);
+                resource.setGraph( embedded );
+                set.add( resource );
+                continue;
+            }
+            loaders.add(new Callable<FedoraResource>() {
+                @Override
+                public FedoraResource call() throws FedoraException {
+                    if ( isProjected() ) {
+                        return repository.getObject(path, getProjection());
+                    }
+                    return repository.getObject(path);
+                }
+            });
+        }
+        set.addAll( loadChildren(loaders) );
+        return set;
+    }
+
+    @Override
+    public Iterator<String> getChildPaths(final String mixin) throws FedoraException {
+        return getChildNodes(getLoadedGraph(), mixin).mapWith(new Map1<Node, String>() {
+            @Override
+            public String map1(final Node child) {
+                return getChildPath(child);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<FedoraResource> iterateChildren(final String mixin, final int prefetch) throws FedoraException {
+        final Graph graph = getLoadedGraph();
+        return new ChildIterator(graph, getChildNodes(graph, mixin), getChildExecutor() == null ? 0 : prefetch);
+    }
+
+    /**
+     * Iterate over the children of this Object, optionally limited to those with a mixin.
+     */
+    private ExtendedIterator<Node> getChildNodes(final Graph graph, final String mixin) {
+        final ExtendedIterator<Node> children = graph.find(subject, CONTAINS.asNode(), Node.ANY)
+                .mapWith(new Map1<Triple, Node>() {
+                    @Override
+                    public Node map1(final Triple triple) {
+                        return triple.getObject();
+                    }
+                });
+        if ( mixin == null ) {
+            return children;
+        }
+        final Node mixinLiteral = NodeFactory.createLiteral(mixin);
+        return children.filterKeep(new Filter<Node>() {
+            @Override
+            public boolean accept(final Node child) {
+                return graph.contains(child, HAS_MIXIN_TYPE.asNode(), mixinLiteral);
+            }
+        });
+    }
+
+    private String getChildPath(final Node child) {
+        return child.getURI().toString().replaceAll(repository.getRepositoryUrl(), "");
+    }
+
+    /**
+     * Get the triples about an Object child that were embedded in this Object's properties.  When this Object's
+     * properties are projected, the embedded triples are only the projected subset, so they are not used.
+     *
+     * @return a graph of the child's properties, or null if none can be used
+     */
+    private Graph getEmbeddedGraph(final Graph graph, final Node child) {
+        if ( isProjected() ) {
+            return null;
+        }
+        final ExtendedIterator<Triple> it = graph.find(child, Node.ANY, Node.ANY);
+        try {
+            if ( !it.hasNext() ) {
+                return null;
+            }
+            final Graph embedded = createDefaultGraph();
+            while (it.hasNext()) {
+                embedded.add( it.next() );
+            }
+            return embedded;
+        } finally {
+            it.close();
+        }
+    }
+
+    /**
+     * Get the predicates kept when properties are loaded.  A projection that lists children also keeps the
+     * mixin types, which tell Objects and Datastreams apart.
+     *
+     * @return the predicates to keep, including Node.ANY if all properties are kept
+     */
+    @Override
+    public Node[] getProjection() {
+        final Node[] projection = super.getProjection();
+        if (!isProjected() || !Arrays.asList(projection).contains(CONTAINS.asNode())) {
+            return projection;
+        }
+        final Node[] withMixins = Arrays.copyOf(projection, projection.length + 1);
+        withMixins[projection.length] = HAS_MIXIN_TYPE.asNode();
+        return withMixins;
+    }
+
+    /**
+     * Create a handle for a child, with the same settings as this Object and no properties loaded.
+     */
+    private FedoraResourceImpl createChild(final String path, final boolean binary) {
+        final FedoraResourceImpl child;
+        if ( binary ) {
+            child = new FedoraDatastreamImpl(repository, httpHelper, path);
+        } else {
+            final FedoraObjectImpl object = new FedoraObjectImpl(repository, httpHelper, path);
+            object.setChildExecutor(childExecutor);
+            child = object;
+        }
+        child.setReloadAfterUpdate(isReloadAfterUpdate());
+        child.setProjection(getProjection());
+        child.setPreferProfile(getPreferProfile());
+        return child;
+    }
+
+    private Set<FedoraResource> loadChildren(final List<Callable<FedoraResource>> loaders)
+            throws FedoraException {
+        final Set<FedoraResource> set = new HashSet<>();
+        final ExecutorService executor = getChildExecutor();
+        try {
+            List<Future<FedoraResource>> futures = null;
+            if ( executor != null && loaders.size() > 1 ) {
+                try {
+                    futures = executor.invokeAll(loaders);
+                } catch (final RejectedExecutionException e) {
+                    // the executor was shut down after it was looked up
+                    LOGGER.debug("Child executor unavailable, loading children sequentially");
+                }
+            }
+            if ( futures == null ) {
+                for (final Callable<FedoraResource> loader : loaders) {
+                    set.add( loader.call() );
+                }
+            } else {
+                for (final Future<FedoraResource> child : futures) {
+                    set.add( child.get() );
                 }
             }
+        } catch (final FedoraException e) {
+            throw e;
+        } catch (final ExecutionException e) {
+            if ( e.getCause() instanceof FedoraException ) {
+                throw (FedoraException) e.getCause();
+            }
+            throw new FedoraException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FedoraException(e);
+        } catch (final Exception e) {
+            throw new FedoraException(e);
         }
         return set;
     }
@@ -84,4 +286,78 @@ public class FedoraObjectImpl extends FedoraResourceImpl implements FedoraObject
     public FedoraObject createObject() throws FedoraException {
         return repository.createResource(getPath());
     }
+
+    /**
+     * Creates each child only when the iteration reaches it, so only the children between the caller and the
+     * prefetch window are held in memory.  Datastream children, and Object children not embedded in the
+     * parent's full properties, are returned as handles that load their properties on first access; those
+     * within the prefetch window are loaded ahead of time on the child executor.
+     */
+    private class ChildIterator implements Iterator<FedoraResource> {
+        private final Graph graph;
+        private final Iterator<Node> children;
+        private final int prefetch;
+        private final Deque<FedoraResourceImpl> ahead = new ArrayDeque<>();
+
+        private ChildIterator(final Graph graph, final Iterator<Node> children, final int prefetch) {
+            this.graph = graph;
+            this.children = children;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !ahead.isEmpty() || children.hasNext();
+        }
+
+        @Override
+        public FedoraResource next() {
+            if ( !hasNext() ) {
+                throw new NoSuchElementException();
+            }
+            while ( ahead.size() <= prefetch && children.hasNext() ) {
+                ahead.add( nextChild() );
+            }
+            return ahead.poll();
+        }
+
+        private FedoraResourceImpl nextChild() {
+            final Node child = children.next();
+            final boolean binary = graph.contains(child, HAS_MIXIN_TYPE.asNode(), binaryType);
+            final FedoraResourceImpl resource = createChild(getChildPath(child), binary);
+            final Graph embedded = binary ? null : getEmbeddedGraph(graph, child);
+            if ( embedded != null ) {
+                resource.setGraph( embedded );
+            } else if ( prefetch > 0 ) {
+                prefetch(resource);
+            }
+            return resource;
+        }
+
+        /**
+         * Load a child's properties on the child executor.  If the executor has been shut down, the child is
+         * left to load its properties when they are first accessed.
+         */
+        private void prefetch(final FedoraResourceImpl resource) {
+            final ExecutorService executor = getChildExecutor();
+            if ( executor == null ) {
+                return;
+            }
+            try {
+                executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            resource.getLoadedGraph();
+                        } catch (final FedoraException e) {
+                            // loading is retried, and the error reported, when the properties are accessed
+                            LOGGER.debug("Could not prefetch {}: {}", resource.getPath(), e.getMessage());
+                        }
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                LOGGER.debug("Child executor unavailable, not prefetching {}", resource.getPath());
+            }
+        }
+    }
 }
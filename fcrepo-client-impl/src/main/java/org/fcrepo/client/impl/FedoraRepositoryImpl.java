@@ -15,6 +15,7 @@
  */
 package org.fcrepo.client.impl;
 
+import com.hp.hpl.jena.graph.Node;
 import com.hp.hpl.jena.graph.Triple;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
@@ -22,6 +23,7 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.jena.riot.Lang;
 import org.fcrepo.client.AlreadyExistsException;
 import org.fcrepo.client.FedoraContent;
 import org.fcrepo.client.FedoraDatastream;
@@ -30,13 +32,23 @@ import org.fcrepo.client.FedoraObject;
 import org.fcrepo.client.FedoraRepository;
 import org.fcrepo.client.ForbiddenException;
 import org.fcrepo.client.NotFoundException;
+import org.fcrepo.client.PreferProfile;
 import org.fcrepo.client.ReadOnlyException;
+import org.fcrepo.client.utils.ConnectionPoolConfig;
+import org.fcrepo.client.utils.ConnectionPoolStats;
+import org.fcrepo.client.utils.ExistenceCache;
 import org.fcrepo.client.utils.HttpHelper;
+import org.fcrepo.client.utils.HttpTransport;
+import org.fcrepo.client.utils.PropertiesCache;
 import org.slf4j.Logger;
 
 import java.io.InputStream;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.http.HttpStatus.SC_CONFLICT;
 import static org.apache.http.HttpStatus.SC_CREATED;
@@ -44,6 +56,7 @@ import static org.apache.http.HttpStatus.SC_FORBIDDEN;
 import static org.apache.http.HttpStatus.SC_NOT_FOUND;
 import static org.apache.http.HttpStatus.SC_NO_CONTENT;
 import static org.apache.http.HttpStatus.SC_OK;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -66,6 +79,10 @@ public class FedoraRepositoryImpl implements FedoraRepository {
 
     protected HttpHelper httpHelper;
     protected String repositoryURL;
+    protected boolean loadAfterCreate = true;
+    protected boolean reloadAfterUpdate = true;
+    protected boolean lazyLoading = false;
+    protected volatile ExecutorService childExecutor;
 
     protected FedoraRepositoryImpl() {
         // for subclasses
@@ -92,6 +109,20 @@ public class FedoraRepositoryImpl implements FedoraRepository {
         this.httpHelper = new HttpHelper(repositoryURL, username, password, false);
     }
 
+    /**
+     * Constructor that takes connection pool settings
+     *
+     * @param repositoryURL Repository base URL
+     * @param username Repository username
+     * @param password Repository password
+     * @param poolConfig Connection pool settings
+     */
+    public FedoraRepositoryImpl(final String repositoryURL, final String username, final String password,
+                                final ConnectionPoolConfig poolConfig) {
+        this.repositoryURL = repositoryURL;
+        this.httpHelper = new HttpHelper(repositoryURL, username, password, false, poolConfig);
+    }
+
     /**
      * Constructor that takes the pre-configured HttpClient
      *
@@ -103,26 +134,146 @@ public class FedoraRepositoryImpl implements FedoraRepository {
         this.httpHelper = new HttpHelper(repositoryURL, httpClient, false);
     }
 
+    /**
+     * Constructor that takes the transport used to execute requests
+     *
+     * @param repositoryURL Repository baseURL
+     * @param transport Transport used to execute requests
+     */
+    public FedoraRepositoryImpl(final String repositoryURL, final HttpTransport transport) {
+        this.repositoryURL = repositoryURL;
+        this.httpHelper = new HttpHelper(repositoryURL, transport, false);
+    }
+
+    /**
+     * Get statistics for the connection pool used by this repository.
+     *
+     * @return pool statistics, or null if the repository uses a pre-configured HttpClient
+     */
+    public ConnectionPoolStats getPoolStats() {
+        return httpHelper.getPoolStats();
+    }
+
+    /**
+     * Set whether resources returned by the create methods are loaded from the repository right away.  When
+     * false, the create methods return without requesting the new resource's properties, which are instead
+     * loaded the first time they are accessed.  This makes bulk ingest cost a single request per resource.
+     *
+     * @param loadAfterCreate If false, return resources that load their properties on first access.
+     */
+    public void setLoadAfterCreate(final boolean loadAfterCreate) {
+        this.loadAfterCreate = loadAfterCreate;
+    }
+
+    /**
+     * Set whether resources reload their properties from the repository after a successful update.  When
+     * false, an update only marks the local properties as stale, and they are reloaded the first time they are
+     * accessed again.  Write-heavy jobs that never read back save a request and a parse per update.
+     *
+     * @param reloadAfterUpdate If false, defer reloading properties after updates until they are accessed.
+     */
+    public void setReloadAfterUpdate(final boolean reloadAfterUpdate) {
+        this.reloadAfterUpdate = reloadAfterUpdate;
+    }
+
+    /**
+     * Set whether getObject and getDatastream return without loading the resource's properties.  When true,
+     * they return a handle whose properties are loaded the first time they are accessed, so handle-only
+     * operations (delete, move, creating children, streaming content) do not request the properties at all.
+     * Note that a missing resource is then only reported when its properties are first accessed.  The
+     * findOrCreate methods always load properties right away.
+     *
+     * @param lazyLoading If true, defer loading properties until they are accessed.
+     */
+    public void setLazyLoading(final boolean lazyLoading) {
+        this.lazyLoading = lazyLoading;
+    }
+
+    /**
+     * Set the number of children FedoraObject.getChildren loads in parallel.  A value of 1 or less loads
+     * children one at a time on the calling thread.  The connection pool should allow at least this many
+     * connections per route.  Objects already returned by this repository use the new setting the next time
+     * they load children.
+     *
+     * @param concurrency Maximum number of children loaded at the same time.
+     */
+    public synchronized void setChildLoadingConcurrency(final int concurrency) {
+        if (childExecutor != null) {
+            childExecutor.shutdown();
+        }
+        childExecutor = concurrency > 1 ? newFixedThreadPool(concurrency, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "fcrepo-client-children-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        }) : null;
+    }
+
+    /**
+     * Get the executor children are currently loaded on.  Objects look it up each time they load children, so
+     * changing the concurrency or closing the repository does not leave them holding a shut down executor.
+     *
+     * @return the executor, or null if children are loaded sequentially
+     */
+    ExecutorService getChildExecutor() {
+        return childExecutor;
+    }
+
+    /**
+     * Set the RDF serialization requested when loading properties.  Defaults to N-Triples; if the repository
+     * rejects the serialization, RDF/XML is used instead.
+     *
+     * @param lang RDF serialization, e.g. Lang.NTRIPLES, Lang.TURTLE or Lang.RDFXML
+     */
+    public void setPropertiesLang(final Lang lang) {
+        httpHelper.setPropertiesLang(lang);
+    }
+
+    /**
+     * Cache loaded properties by their ETag.  Later loads of a cached resource send If-None-Match, and reuse
+     * the cached properties when the repository answers 304 Not Modified.
+     *
+     * @param cache The cache, or null to always download properties
+     */
+    public void setPropertiesCache(final PropertiesCache cache) {
+        httpHelper.setPropertiesCache(cache);
+    }
+
+    /**
+     * Cache which paths exist for a short time, so repeated calls to exists and the findOrCreate methods don't
+     * each make a request.  Paths created, deleted, moved or copied through this client are updated right away;
+     * changes made by other clients are seen once the cached result expires.
+     *
+     * @param cache The cache, or null to always check existence with the repository
+     */
+    public void setExistenceCache(final ExistenceCache cache) {
+        httpHelper.setExistenceCache(cache);
+    }
+
+    /**
+     * Release the pooled connections and child-loading threads held by this repository.
+     */
+    public void close() {
+        setChildLoadingConcurrency(1);
+        httpHelper.close();
+    }
+
     @Override
     public boolean exists(final String path) throws FedoraException, ForbiddenException {
+        final Boolean cached = getCachedExists(path);
+        if (cached != null) {
+            return cached;
+        }
         final HttpHead head = httpHelper.createHeadMethod(prependTransactionId(path));
         try {
             final HttpResponse response = httpHelper.execute(head);
-            final StatusLine status = response.getStatusLine();
-            final int statusCode = status.getStatusCode();
-            final String uri = head.getURI().toString();
-            if (statusCode == SC_OK) {
-                return true;
-            } else if (statusCode == SC_NOT_FOUND) {
-                return false;
-            } else if (statusCode == SC_FORBIDDEN) {
-                LOGGER.error("request for resource {} is not authorized.", uri);
-                throw new ForbiddenException("request for resource " + uri + " is not authorized.");
-            } else {
-                LOGGER.error("error checking resource {}: {} {}", uri, statusCode, status.getReasonPhrase());
-                throw new FedoraException("error checking resource " + uri + ": " + statusCode + " " +
-                                          status.getReasonPhrase());
-            }
+            final boolean exists = readExists(head.getURI().toString(), response);
+            recordExists(path, exists);
+            return exists;
         } catch (final Exception e) {
             LOGGER.error("Could not encode URI parameter: {}", e.getMessage());
             throw new FedoraException(e);
@@ -133,14 +284,73 @@ public class FedoraRepositoryImpl implements FedoraRepository {
 
     @Override
     public FedoraDatastream getDatastream(final String path) throws FedoraException {
-        return (FedoraDatastream) httpHelper
-                .loadProperties(new FedoraDatastreamImpl(this, httpHelper, prependTransactionId(path)));
+        return getDatastream(path, Node.ANY);
+    }
+
+    @Override
+    public FedoraDatastream getDatastream(final String path, final Node... properties) throws FedoraException {
+        final FedoraDatastreamImpl datastream = newDatastream(path);
+        datastream.setProjection(properties);
+        return getResource(datastream);
     }
 
     @Override
     public FedoraObject getObject(final String path) throws FedoraException {
-        return (FedoraObject) httpHelper
-                .loadProperties(new FedoraObjectImpl(this, httpHelper, prependTransactionId(path)));
+        return getObject(path, Node.ANY);
+    }
+
+    @Override
+    public FedoraObject getObject(final String path, final Node... properties) throws FedoraException {
+        final FedoraObjectImpl object = newObject(path);
+        object.setProjection(properties);
+        return getObject(object);
+    }
+
+    @Override
+    public FedoraObject getObject(final String path, final PreferProfile profile) throws FedoraException {
+        final FedoraObjectImpl object = newObject(path);
+        object.setPreferProfile(profile);
+        return getObject(object);
+    }
+
+    @Override
+    public Optional<FedoraDatastream> tryGetDatastream(final String path) throws FedoraException {
+        return Optional.ofNullable(tryGetResource(newDatastream(path)));
+    }
+
+    @Override
+    public Optional<FedoraObject> tryGetObject(final String path) throws FedoraException {
+        return Optional.ofNullable(tryGetResource(newObject(path)));
+    }
+
+    private FedoraObject getObject(final FedoraObjectImpl object) throws FedoraException {
+        return getResource(object);
+    }
+
+    private <T extends FedoraResourceImpl> T getResource(final T resource) throws FedoraException {
+        if (lazyLoading) {
+            return resource;
+        }
+        try {
+            httpHelper.loadProperties(resource);
+        } catch (final NotFoundException e) {
+            recordExists(resource.getPath(), false);
+            throw e;
+        }
+        recordExists(resource.getPath(), true);
+        return resource;
+    }
+
+    /**
+     * Load a resource regardless of lazy loading, since that is the only way to tell whether it exists.
+     */
+    private <T extends FedoraResourceImpl> T tryGetResource(final T resource) throws FedoraException {
+        if (Boolean.FALSE.equals(getCachedExists(resource.getPath()))) {
+            return null;
+        }
+        final boolean exists = httpHelper.tryLoadProperties(resource) != null;
+        recordExists(resource.getPath(), exists);
+        return exists ? resource : null;
     }
 
     @Override
@@ -148,23 +358,8 @@ public class FedoraRepositoryImpl implements FedoraRepository {
         final HttpPut put = httpHelper.createContentPutMethod(prependTransactionId(path), null, content);
         try {
             final HttpResponse response = httpHelper.execute(put);
-            final String uri = put.getURI().toString();
-            final StatusLine status = response.getStatusLine();
-            final int statusCode = status.getStatusCode();
-
-            if (statusCode == SC_CREATED) {
-                return getDatastream(path);
-            } else if (statusCode == SC_FORBIDDEN) {
-                LOGGER.error("request to create resource {} is not authorized.", uri);
-                throw new ForbiddenException("request to create resource " + uri + " is not authorized.");
-            } else if (statusCode == SC_CONFLICT) {
-                LOGGER.error("resource {} already exists", uri);
-                throw new AlreadyExistsException("resource " + uri + " already exists");
-            } else {
-                LOGGER.error("error creating resource {}: {} {}", uri, statusCode, status.getReasonPhrase());
-                throw new FedoraException("error retrieving resource " + uri + ": " + statusCode + " " +
-                                                  status.getReasonPhrase());
-            }
+            checkCreated(put.getURI().toString(), response);
+            return createdDatastream(path);
         } catch (final Exception e) {
             LOGGER.error("Could not encode URI parameter: {}", e.getMessage());
             throw new FedoraException(e);
@@ -185,7 +380,7 @@ public class FedoraRepositoryImpl implements FedoraRepository {
             final int statusCode = status.getStatusCode();
 
             if (statusCode == SC_CREATED) {
-                return getDatastream(path);
+                return createdDatastream(path);
             } else if (statusCode == SC_FORBIDDEN) {
                 LOGGER.error("request to create resource {} is not authorized.", uri);
                 throw new ForbiddenException("request to create resource " + uri + " is not authorized.");
@@ -207,23 +402,8 @@ public class FedoraRepositoryImpl implements FedoraRepository {
         final HttpPut put = httpHelper.createPutMethod(prependTransactionId(path), null);
         try {
             final HttpResponse response = httpHelper.execute(put);
-            final String uri = put.getURI().toString();
-            final StatusLine status = response.getStatusLine();
-            final int statusCode = status.getStatusCode();
-
-            if (statusCode == SC_CREATED) {
-                return getObject(path);
-            } else if (statusCode == SC_FORBIDDEN) {
-                LOGGER.error("request to create resource {} is not authorized.", uri);
-                throw new ForbiddenException("request to create resource " + uri + " is not authorized.");
-            } else if (statusCode == SC_CONFLICT) {
-                LOGGER.error("resource {} already exists", uri);
-                throw new AlreadyExistsException("resource " + uri + " already exists");
-            } else {
-                LOGGER.error("error creating resource {}: {} {}", uri, statusCode, status.getReasonPhrase());
-                throw new FedoraException("error retrieving resource " + uri + ": " + statusCode + " " +
-                                                  status.getReasonPhrase());
-            }
+            checkCreated(put.getURI().toString(), response);
+            return createdObject(path);
         } catch (final Exception e) {
             LOGGER.error("Could not encode URI parameter: {}", e.getMessage());
             throw new FedoraException(e);
@@ -244,7 +424,8 @@ public class FedoraRepositoryImpl implements FedoraRepository {
             final int statusCode = status.getStatusCode();
 
             if (statusCode == SC_CREATED) {
-                return getObject(response.getFirstHeader("Location").getValue().substring(repositoryURL.length()));
+                return createdObject(
+                        response.getFirstHeader("Location").getValue().substring(repositoryURL.length()));
             } else if (statusCode == SC_FORBIDDEN) {
                 LOGGER.error("request to create resource {} is not authorized.", uri);
                 throw new ForbiddenException("request to create resource " + uri + " is not authorized.");
@@ -263,20 +444,14 @@ public class FedoraRepositoryImpl implements FedoraRepository {
 
     @Override
     public FedoraDatastream findOrCreateDatastream(final String path) throws FedoraException {
-        try {
-            return getDatastream(path);
-        } catch ( NotFoundException ex ) {
-            return createDatastream(path, null);
-        }
+        final Optional<FedoraDatastream> datastream = tryGetDatastream(path);
+        return datastream.isPresent() ? datastream.get() : createDatastream(path, null);
     }
 
     @Override
     public FedoraObject findOrCreateObject(final String path) throws FedoraException {
-        try {
-            return getObject(path);
-        } catch ( NotFoundException ex ) {
-            return createObject(path);
-        }
+        final Optional<FedoraObject> object = tryGetObject(path);
+        return object.isPresent() ? object.get() : createObject(path);
     }
 
     @Override
@@ -387,6 +562,11 @@ public class FedoraRepositoryImpl implements FedoraRepository {
         } finally {
             post.releaseConnection();
             TX_ID.remove();
+            // changes made in the transaction were not cached, and may now be visible outside it
+            final ExistenceCache cache = httpHelper.getExistenceCache();
+            if (cache != null) {
+                cache.clear();
+            }
         }
     }
 
@@ -426,7 +606,150 @@ public class FedoraRepositoryImpl implements FedoraRepository {
         return repositoryURL;
     }
 
-    private String prependTransactionId(final String path) {
+    /**
+     * Check the response to a request to check whether a resource exists.
+     *
+     * @param uri URI of the resource
+     * @param response Response to the HEAD request
+     * @return true if the resource exists, false if it does not
+     * @throws FedoraException if the request was not authorized or failed
+     */
+    protected boolean readExists(final String uri, final HttpResponse response) throws FedoraException {
+        final StatusLine status = response.getStatusLine();
+        final int statusCode = status.getStatusCode();
+        if (statusCode == SC_OK) {
+            return true;
+        } else if (statusCode == SC_NOT_FOUND) {
+            return false;
+        } else if (statusCode == SC_FORBIDDEN) {
+            LOGGER.error("request for resource {} is not authorized.", uri);
+            throw new ForbiddenException("request for resource " + uri + " is not authorized.");
+        } else {
+            LOGGER.error("error checking resource {}: {} {}", uri, statusCode, status.getReasonPhrase());
+            throw new FedoraException("error checking resource " + uri + ": " + statusCode + " " +
+                                      status.getReasonPhrase());
+        }
+    }
+
+    /**
+     * Check that the response to a PUT request indicates the resource was created.
+     *
+     * @param uri URI of the resource
+     * @param response Response to the PUT request
+     * @throws FedoraException if the resource already exists, the request was not authorized or failed
+     */
+    protected void checkCreated(final String uri, final HttpResponse response) throws FedoraException {
+        final StatusLine status = response.getStatusLine();
+        final int statusCode = status.getStatusCode();
+
+        if (statusCode == SC_CREATED) {
+            return;
+        } else if (statusCode == SC_FORBIDDEN) {
+            LOGGER.error("request to create resource {} is not authorized.", uri);
+            throw new ForbiddenException("request to create resource " + uri + " is not authorized.");
+        } else if (statusCode == SC_CONFLICT) {
+            LOGGER.error("resource {} already exists", uri);
+            throw new AlreadyExistsException("resource " + uri + " already exists");
+        } else {
+            LOGGER.error("error creating resource {}: {} {}", uri, statusCode, status.getReasonPhrase());
+            throw new FedoraException("error retrieving resource " + uri + ": " + statusCode + " " +
+                                              status.getReasonPhrase());
+        }
+    }
+
+    /**
+     * Get the cached existence of a path.  Results are not cached inside a transaction, whose changes are not
+     * visible outside it, and the cache is cleared when a transaction is committed.
+     *
+     * @param path The repository path
+     * @return true or false if the existence of the path is cached, otherwise null
+     */
+    protected Boolean getCachedExists(final String path) {
+        final ExistenceCache cache = httpHelper.getExistenceCache();
+        return cache == null || inTransaction() ? null : cache.get(path);
+    }
+
+    /**
+     * Cache whether a path exists, unless a transaction is in progress.
+     *
+     * @param path The repository path
+     * @param exists Whether the path exists
+     */
+    protected void recordExists(final String path, final boolean exists) {
+        final ExistenceCache cache = httpHelper.getExistenceCache();
+        if (cache != null && !inTransaction()) {
+            cache.put(path, exists);
+        }
+    }
+
+    /**
+     * Check whether a transaction is in progress on the current thread.
+     *
+     * @return true if requests made by the current thread are part of a transaction
+     */
+    protected boolean inTransaction() {
+        return TX_ID.get() != null;
+    }
+
+    /**
+     * Get a newly-created datastream, loading its properties now only if loadAfterCreate is set.
+     *
+     * @param path Path of the new datastream
+     * @return the datastream
+     * @throws FedoraException if the properties could not be loaded
+     */
+    protected FedoraDatastream createdDatastream(final String path) throws FedoraException {
+        recordExists(path, true);
+        final FedoraDatastreamImpl datastream = newDatastream(path);
+        httpHelper.discardLoads(datastream.getPropertiesPath());
+        if (loadAfterCreate) {
+            return getDatastream(path);
+        }
+        return datastream;
+    }
+
+    /**
+     * Get a newly-created object, loading its properties now only if loadAfterCreate is set.
+     *
+     * @param path Path of the new object
+     * @return the object
+     * @throws FedoraException if the properties could not be loaded
+     */
+    protected FedoraObject createdObject(final String path) throws FedoraException {
+        recordExists(path, true);
+        final FedoraObjectImpl object = newObject(path);
+        httpHelper.discardLoads(object.getPropertiesPath());
+        if (loadAfterCreate) {
+            return getObject(path);
+        }
+        return object;
+    }
+
+    /**
+     * Create a datastream handle bound to this repository, without loading its properties.
+     *
+     * @param path Path of the datastream
+     * @return the datastream, configured with this repository's settings
+     */
+    protected FedoraDatastreamImpl newDatastream(final String path) {
+        final FedoraDatastreamImpl datastream = new FedoraDatastreamImpl(this, httpHelper, prependTransactionId(path));
+        datastream.setReloadAfterUpdate(reloadAfterUpdate);
+        return datastream;
+    }
+
+    /**
+     * Create an object handle bound to this repository, without loading its properties.
+     *
+     * @param path Path of the object
+     * @return the object, configured with this repository's settings
+     */
+    protected FedoraObjectImpl newObject(final String path) {
+        final FedoraObjectImpl object = new FedoraObjectImpl(this, httpHelper, prependTransactionId(path));
+        object.setReloadAfterUpdate(reloadAfterUpdate);
+        return object;
+    }
+
+    protected String prependTransactionId(final String path) {
         final String txId = TX_ID.get();
         // append (if needed) tx id to the path if a transaction has been started for this thread
         if (txId == null || path.contains(TX)) {
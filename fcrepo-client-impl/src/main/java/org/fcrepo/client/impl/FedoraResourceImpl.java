@@ -15,6 +15,7 @@
  */
 package org.fcrepo.client.impl;
 
+import static java.util.Collections.unmodifiableSet;
 import static org.apache.http.HttpStatus.SC_CONFLICT;
 import static org.apache.http.HttpStatus.SC_CREATED;
 import static org.apache.http.HttpStatus.SC_FORBIDDEN;
@@ -24,8 +25,9 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
@@ -44,6 +46,9 @@ import org.fcrepo.client.FedoraRepository;
 import org.fcrepo.client.FedoraResource;
 import org.fcrepo.client.ForbiddenException;
 import org.fcrepo.client.NotFoundException;
+import org.fcrepo.client.PreferProfile;
+import org.fcrepo.client.utils.CompactGraph;
+import org.fcrepo.client.utils.ExistenceCache;
 import org.fcrepo.client.utils.HttpCopy;
 import org.fcrepo.client.utils.HttpHelper;
 import org.fcrepo.client.utils.HttpMove;
@@ -67,8 +72,6 @@ import com.hp.hpl.jena.util.iterator.ExtendedIterator;
 public class FedoraResourceImpl implements FedoraResource {
     private static final Logger LOGGER = getLogger(FedoraResourceImpl.class);
 
-    private static SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-
     protected FedoraRepository repository = null;
 
     protected HttpHelper httpHelper = null;
@@ -79,10 +82,18 @@ public class FedoraResourceImpl implements FedoraResource {
 
     protected Node subject = null;
 
-    protected Graph graph;
+    protected volatile Graph graph;
+
+    private volatile PropertySnapshot snapshot;
 
     private String etagValue = null;
 
+    private boolean reloadAfterUpdate = true;
+
+    private volatile Node[] projection = { Node.ANY };
+
+    private volatile PreferProfile preferProfile;
+
     /**
      * FedoraResourceImpl constructor
      *
@@ -109,6 +120,7 @@ public class FedoraResourceImpl implements FedoraResource {
 
             if (status.getStatusCode() == HttpStatus.SC_CREATED) { // Created
                  LOGGER.debug("resource successfully copied from " + path + " to " + destination, uri);
+                 invalidateExistence(destination);
             } else if (status.getStatusCode() == HttpStatus.SC_CONFLICT) { // Source path doesn't exists
                 LOGGER.error("error copying resource {}: {} {}", uri, status.getStatusCode(),
                         status.getReasonPhrase());
@@ -146,7 +158,8 @@ public class FedoraResourceImpl implements FedoraResource {
             final String uri = delete.getURI().toString();
 
             if ( status.getStatusCode() == SC_NO_CONTENT) {
-                LOGGER.debug("triples updated successfully for resource {}", uri);
+                LOGGER.debug("resource {} deleted successfully", uri);
+                invalidateExistence(path);
             } else if ( status.getStatusCode() == SC_NOT_FOUND) {
                 LOGGER.error("resource {} does not exist, cannot update", uri);
                 throw new NotFoundException("resource " + uri + " does not exist, cannot update");
@@ -213,12 +226,18 @@ public class FedoraResourceImpl implements FedoraResource {
     }
 
     @Override
-    public Date getCreatedDate() {
-        return getDate(RdfLexicon.CREATED_DATE);
+    public Date getCreatedDate() throws FedoraException {
+        return toDate(getSnapshot().created);
     }
 
     @Override
-    public String getEtagValue() {
+    public Instant getCreatedInstant() throws FedoraException {
+        return getSnapshot().created;
+    }
+
+    @Override
+    public String getEtagValue() throws FedoraException {
+        getLoadedGraph();
         return etagValue;
     }
 
@@ -232,13 +251,18 @@ public class FedoraResourceImpl implements FedoraResource {
     }
 
     @Override
-    public Date getLastModifiedDate() {
-        return getDate(RdfLexicon.LAST_MODIFIED_DATE);
+    public Date getLastModifiedDate() throws FedoraException {
+        return toDate(getSnapshot().lastModified);
+    }
+
+    @Override
+    public Instant getLastModifiedInstant() throws FedoraException {
+        return getSnapshot().lastModified;
     }
 
     @Override
-    public Collection<String> getMixins() {
-        return getPropertyValues(RdfLexicon.HAS_MIXIN_TYPE);
+    public Collection<String> getMixins() throws FedoraException {
+        return getSnapshot().mixins;
     }
 
     @Override
@@ -254,13 +278,13 @@ public class FedoraResourceImpl implements FedoraResource {
     }
 
     @Override
-    public Iterator<Triple> getProperties() {
-        return graph.find(Node.ANY, Node.ANY, Node.ANY);
+    public Iterator<Triple> getProperties() throws FedoraException {
+        return getLoadedGraph().find(Node.ANY, Node.ANY, Node.ANY);
     }
 
     @Override
-    public Long getSize() {
-        return (long) graph.size();
+    public Long getSize() throws FedoraException {
+        return (long) getLoadedGraph().size();
     }
 
     @Override
@@ -277,6 +301,8 @@ public class FedoraResourceImpl implements FedoraResource {
                 oldPath = path;
                 path = destination;
                 subject = NodeFactory.createURI(repository.getRepositoryUrl() + path);
+                invalidateExistence(oldPath);
+                invalidateExistence(destination);
             } else if (status.getStatusCode() == HttpStatus.SC_CONFLICT) { // Source path doesn't exists
                 LOGGER.error("error moving resource {}: {} {}", uri, status.getStatusCode(),
                         status.getReasonPhrase());
@@ -340,7 +366,7 @@ public class FedoraResourceImpl implements FedoraResource {
             }
 
             // update properties from server
-            httpHelper.loadProperties(this);
+            propertiesUpdated();
 
         } catch (final FedoraException e) {
             throw e;
@@ -382,7 +408,7 @@ public class FedoraResourceImpl implements FedoraResource {
             }
 
             // update properties from server
-            httpHelper.loadProperties(this);
+            propertiesUpdated();
 
         } catch (final FedoraException e) {
             throw e;
@@ -396,12 +422,12 @@ public class FedoraResourceImpl implements FedoraResource {
 
     @Override
     public boolean isWritable() {
-        final Collection<String> values = getPropertyValues(RdfLexicon.WRITABLE);
-        if (values != null && values.size() > 0) {
-            final Iterator<String> it = values.iterator();
-            return Boolean.parseBoolean(it.next());
+        try {
+            return getSnapshot().writable;
+        } catch (final FedoraException e) {
+            LOGGER.error("Could not load properties for {}: {}", path, e.getMessage());
+            return false;
         }
-        return false;
     }
 
     @Override
@@ -441,33 +467,198 @@ public class FedoraResourceImpl implements FedoraResource {
     /**
      * Get the properties graph
      *
-     * @return Graph containing properties for this resource
+     * @return Graph containing properties for this resource, or null if the properties have not been loaded
      */
     public Graph getGraph() {
         return graph;
     }
 
     /**
-     * Update the properties graph
+     * Get the properties graph, loading it from the repository first if it has not been loaded yet.
+     *
+     * @return Graph containing properties for this resource
+     * @throws FedoraException if the properties could not be loaded
+     */
+    protected Graph getLoadedGraph() throws FedoraException {
+        Graph loaded = graph;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = graph;
+                if (loaded == null) {
+                    httpHelper.loadProperties(this);
+                    loaded = graph;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Set whether properties are reloaded from the repository right after a successful update.  When false, the
+     * local properties are marked stale instead, and reloaded the next time they are accessed.
+     *
+     * @param reloadAfterUpdate If false, defer reloading properties after updates until they are accessed.
+     */
+    public void setReloadAfterUpdate(final boolean reloadAfterUpdate) {
+        this.reloadAfterUpdate = reloadAfterUpdate;
+    }
+
+    /**
+     * Check whether properties are reloaded from the repository right after a successful update.
+     *
+     * @return true if properties are reloaded after updates, false if they are marked stale instead
+     */
+    public boolean isReloadAfterUpdate() {
+        return reloadAfterUpdate;
+    }
+
+    /**
+     * Discard the local properties, so they are reloaded from the repository the next time they are accessed.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            setGraph(null);
+            etagValue = null;
+        }
+    }
+
+    /**
+     * Bring the local properties up to date after this resource has been changed in the repository.
+     *
+     * @throws FedoraException if the properties could not be reloaded
+     */
+    protected void propertiesUpdated() throws FedoraException {
+        httpHelper.discardLoads(getPropertiesPath());
+        if (reloadAfterUpdate) {
+            httpHelper.loadProperties(this);
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Forget the cached existence of a path and the paths below it after this client changed them.
+     *
+     * @param changedPath The changed path
+     */
+    protected void invalidateExistence( final String changedPath ) {
+        final ExistenceCache cache = httpHelper.getExistenceCache();
+        if (cache != null) {
+            cache.invalidate(changedPath);
+        }
+    }
+
+    /**
+     * Restrict the properties loaded from the repository to a set of predicates.  Triples with any other
+     * predicate are dropped while the response is parsed, and the repository is asked to leave out triples
+     * that cannot be part of the projection.  Accessors for properties outside the projection behave as if
+     * the property was not set.
+     *
+     * @param properties The predicates to keep, or Node.ANY to keep all properties
+     */
+    public void setProjection( final Node... properties ) {
+        this.projection = properties.length == 0 ? new Node[] { Node.ANY } : properties.clone();
+    }
+
+    /**
+     * Get the predicates kept when properties are loaded from the repository.
+     *
+     * @return the predicates to keep, including Node.ANY if all properties are kept
+     */
+    public Node[] getProjection() {
+        return projection.clone();
+    }
+
+    /**
+     * Check whether all properties are loaded from the repository.
+     *
+     * @return true if no projection is applied
+     */
+    public boolean isProjected() {
+        return !Arrays.asList(projection).contains(Node.ANY);
+    }
+
+    /**
+     * Set the Prefer profile requested when the properties of this resource are loaded.
+     *
+     * @param preferProfile The profile, or null to use the default for the type of resource
+     */
+    public void setPreferProfile( final PreferProfile preferProfile ) {
+        this.preferProfile = preferProfile;
+    }
+
+    /**
+     * Get the Prefer profile requested when the properties of this resource are loaded.
+     *
+     * @return the profile, or null if the default for the type of resource is used
+     */
+    public PreferProfile getPreferProfile() {
+        return preferProfile;
+    }
+
+    /**
+     * Check whether the properties of this resource have been loaded from the repository.
+     *
+     * @return true if the properties graph is available without a request to the repository
+     */
+    public boolean isLoaded() {
+        return graph != null;
+    }
+
+    /**
+     * Update the properties graph.  The graph is stored as a read-only CompactGraph copy.
      *
      * @param graph graph to  add to this object
     **/
     public void setGraph( final Graph graph ) {
-        this.graph = graph;
-    }
-
-    private Date getDate(final Property property) {
-        Date date = null;
-        final Triple t = getTriple(subject, property);
-        if ( t != null ) {
-            final String dateValue = t.getObject().getLiteralValue().toString();
-            try {
-                date = dateFormat.parse(dateValue);
-            } catch (final ParseException e) {
-                LOGGER.debug("Invalid date format error: " + dateValue);
-            }
+        final Graph compact = graph == null ? null : CompactGraph.copyOf(graph);
+        this.graph = compact;
+        this.snapshot = compact == null ? null : createSnapshot(compact);
+    }
+
+    /**
+     * Extract the commonly read property values from a properties graph.  Subclasses with more properties
+     * of their own return a subclass of PropertySnapshot.
+     *
+     * @param graph The properties graph
+     * @return the property values
+     */
+    protected PropertySnapshot createSnapshot( final Graph graph ) {
+        return new PropertySnapshot(this, graph);
+    }
+
+    /**
+     * Get the commonly read property values, loading the properties first if they have not been loaded yet.
+     *
+     * @return the property values of the current properties graph
+     * @throws FedoraException if the properties could not be loaded
+     */
+    protected PropertySnapshot getSnapshot() throws FedoraException {
+        final Graph loaded = getLoadedGraph();
+        PropertySnapshot current = snapshot;
+        if (current == null || current.graph != loaded) {
+            current = createSnapshot(loaded);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private static Instant getInstant(final Graph graph, final Node subject, final Property property) {
+        final Triple t = getTriple(graph, subject, property);
+        if ( t == null ) {
+            return null;
+        }
+        final String dateValue = t.getObject().getLiteralLexicalForm();
+        try {
+            return Instant.parse(dateValue);
+        } catch (final DateTimeParseException e) {
+            LOGGER.debug("Invalid date format error: " + dateValue);
+            return null;
         }
-        return date;
+    }
+
+    private static Date toDate(final Instant instant) {
+        return instant == null ? null : Date.from(instant);
     }
 
     /**
@@ -476,7 +667,11 @@ public class FedoraResourceImpl implements FedoraResource {
      * @param property The Property to get values for
      * @return Collection of values
      */
-    protected Collection<String> getPropertyValues(final Property property) {
+    protected Collection<String> getPropertyValues(final Property property) throws FedoraException {
+        return getPropertyValues(getLoadedGraph(), property);
+    }
+
+    private static Set<String> getPropertyValues(final Graph graph, final Property property) {
         final ExtendedIterator<Triple> iterator = graph.find(Node.ANY,
                                                              property.asNode(),
                                                              Node.ANY);
@@ -494,7 +689,19 @@ public class FedoraResourceImpl implements FedoraResource {
         return set;
     }
 
-    protected Triple getTriple( final Node subject, final Property property ) {
+    protected Triple getTriple( final Node subject, final Property property ) throws FedoraException {
+        return getTriple( getLoadedGraph(), subject, property );
+    }
+
+    /**
+     * Get the first triple with a subject and property from a graph.
+     *
+     * @param graph The graph to search
+     * @param subject The subject
+     * @param property The property
+     * @return the first matching triple, or null if there is none
+     */
+    protected static Triple getTriple( final Graph graph, final Node subject, final Property property ) {
         final ExtendedIterator<Triple> it = graph.find( subject, property.asNode(), null );
         try {
             if ( it.hasNext() ) {
@@ -516,4 +723,31 @@ public class FedoraResourceImpl implements FedoraResource {
         return path;
     }
 
+
+    /**
+     * Values of the commonly read properties, extracted once when the properties graph is set so the
+     * accessors don't search the graph on every call.
+     */
+    protected static class PropertySnapshot {
+        private final Graph graph;
+        private final Instant created;
+        private final Instant lastModified;
+        private final Collection<String> mixins;
+        private final boolean writable;
+
+        /**
+         * Extract the property values of a resource from a graph.
+         *
+         * @param resource The resource
+         * @param graph The properties graph of the resource
+         */
+        protected PropertySnapshot(final FedoraResourceImpl resource, final Graph graph) {
+            this.graph = graph;
+            this.created = getInstant(graph, resource.subject, RdfLexicon.CREATED_DATE);
+            this.lastModified = getInstant(graph, resource.subject, RdfLexicon.LAST_MODIFIED_DATE);
+            this.mixins = unmodifiableSet(getPropertyValues(graph, RdfLexicon.HAS_MIXIN_TYPE));
+            final Iterator<String> writableValues = getPropertyValues(graph, RdfLexicon.WRITABLE).iterator();
+            this.writable = writableValues.hasNext() && Boolean.parseBoolean(writableValues.next());
+        }
+    }
 }
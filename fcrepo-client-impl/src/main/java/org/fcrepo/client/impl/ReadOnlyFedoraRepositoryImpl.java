@@ -19,8 +19,6 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.InputStream;
 
-import org.fcrepo.client.NotFoundException;
-
 import org.apache.http.client.HttpClient;
 
 import org.fcrepo.client.FedoraContent;
@@ -29,7 +27,9 @@ import org.fcrepo.client.FedoraException;
 import org.fcrepo.client.FedoraObject;
 import org.fcrepo.client.FedoraRepository;
 import org.fcrepo.client.ReadOnlyException;
+import org.fcrepo.client.utils.ConnectionPoolConfig;
 import org.fcrepo.client.utils.HttpHelper;
+import org.fcrepo.client.utils.HttpTransport;
 import org.slf4j.Logger;
 
 /**
@@ -65,6 +65,20 @@ public class ReadOnlyFedoraRepositoryImpl extends FedoraRepositoryImpl implement
         this.httpHelper = new HttpHelper(repositoryURL, username, password, true);
     }
 
+    /**
+     * Constructor that takes connection pool settings
+     *
+     * @param repositoryURL Repository base URL
+     * @param username Repository username
+     * @param password Repository password
+     * @param poolConfig Connection pool settings
+     */
+    public ReadOnlyFedoraRepositoryImpl(final String repositoryURL, final String username, final String password,
+                                        final ConnectionPoolConfig poolConfig) {
+        this.repositoryURL = repositoryURL;
+        this.httpHelper = new HttpHelper(repositoryURL, username, password, true, poolConfig);
+    }
+
     /**
      * Constructor that takes the pre-configured HttpClient
      *
@@ -76,6 +90,17 @@ public class ReadOnlyFedoraRepositoryImpl extends FedoraRepositoryImpl implement
         this.httpHelper = new HttpHelper(repositoryURL, httpClient, true);
     }
 
+    /**
+     * Constructor that takes the transport used to execute requests
+     *
+     * @param repositoryURL Repository baseURL
+     * @param transport Transport used to execute requests
+     */
+    public ReadOnlyFedoraRepositoryImpl(final String repositoryURL, final HttpTransport transport) {
+        this.repositoryURL = repositoryURL;
+        this.httpHelper = new HttpHelper(repositoryURL, transport, true);
+    }
+
     @Override
     public FedoraDatastream createDatastream(final String path, final FedoraContent content) throws ReadOnlyException {
         LOGGER.warn(msg);
@@ -88,26 +113,6 @@ public class ReadOnlyFedoraRepositoryImpl extends FedoraRepositoryImpl implement
         throw new ReadOnlyException();
     }
 
-    @Override
-    public FedoraDatastream findOrCreateDatastream(final String path) throws FedoraException {
-        try {
-            return getDatastream(path);
-        } catch ( NotFoundException ex ) {
-            LOGGER.warn(msg);
-            throw new ReadOnlyException();
-        }
-    }
-
-    @Override
-    public FedoraObject findOrCreateObject(final String path) throws FedoraException {
-        try {
-            return getObject(path);
-        } catch ( NotFoundException ex ) {
-            LOGGER.warn(msg);
-            throw new ReadOnlyException();
-        }
-    }
-
     @Override
     public void registerNodeTypes(final InputStream cndStream) throws ReadOnlyException {
         LOGGER.warn(msg);
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.AuthCache;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.impl.client.BasicAuthCache;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.DefaultRedirectStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.client.StandardHttpRequestRetryHandler;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+
+/**
+ * HttpTransport backed by an Apache HttpClient, either one built here on a bounded connection pool or a
+ * pre-configured client supplied by the caller.  Requests to the repository authenticate pre-emptively.
+ *
+ * @author agent
+ * @since 2026-10-17
+**/
+public class ApacheHttpTransport implements HttpTransport {
+    private static final Logger LOGGER = getLogger(ApacheHttpTransport.class);
+
+    private final HttpClient httpClient;
+    private final AuthCache authCache;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final IdleConnectionEvictor connectionEvictor;
+
+    /**
+     * Create a transport using a pre-configured HttpClient.  The client is not closed by this transport, and
+     * remains the responsibility of the caller.
+     * @param repositoryURL Fedora base URL.
+     * @param httpClient Pre-configured HttpClient instance.
+    **/
+    public ApacheHttpTransport(final String repositoryURL, final HttpClient httpClient) {
+        this(repositoryURL, httpClient, null, null);
+    }
+
+    private ApacheHttpTransport(final String repositoryURL,
+                                final HttpClient httpClient,
+                                final PoolingHttpClientConnectionManager connectionManager,
+                                final IdleConnectionEvictor connectionEvictor) {
+        this.httpClient = httpClient;
+        this.authCache = buildAuthCache(repositoryURL);
+        this.connectionManager = connectionManager;
+        this.connectionEvictor = connectionEvictor;
+    }
+
+    /**
+     * Create a transport with its own pooled HttpClient for the specified repository.  If fedoraUsername and
+     * fedoraPassword are not null, then they will be used to connect to the repository.
+     * @param repositoryURL Fedora base URL.
+     * @param fedoraUsername Fedora username
+     * @param fedoraPassword Fedora password
+     * @param poolConfig Connection pool settings.
+     * @return transport owning its connection pool
+    **/
+    public static ApacheHttpTransport create(final String repositoryURL, final String fedoraUsername,
+                                             final String fedoraPassword, final ConnectionPoolConfig poolConfig) {
+        final PoolingHttpClientConnectionManager connMann = buildConnectionManager(poolConfig);
+        final HttpClient httpClient = buildClient(fedoraUsername, fedoraPassword, repositoryURL, connMann, poolConfig);
+        return new ApacheHttpTransport(repositoryURL, httpClient, connMann, buildEvictor(connMann, poolConfig));
+    }
+
+    @Override
+    public TransportResponse execute(final TransportRequest request) throws IOException {
+        final RequestBuilder builder = RequestBuilder.create(request.getMethod()).setUri(request.getURI());
+        for (final Map.Entry<String, List<String>> header : request.getHeaders().entrySet()) {
+            for (final String value : header.getValue()) {
+                builder.addHeader(header.getKey(), value);
+            }
+        }
+        if (request.getBody() != null) {
+            builder.setEntity(new InputStreamEntity(request.getBody(), request.getBodyLength()));
+        }
+        final HttpUriRequest httpRequest = builder.build();
+
+        // contexts hold per-exchange state and are not safe to share between threads, so every request gets a
+        // new one carrying the shared pre-emptive auth cache
+        final HttpClientContext context = HttpClientContext.create();
+        context.setAuthCache(authCache);
+        return new ApacheTransportResponse(httpRequest, httpClient.execute(httpRequest, context));
+    }
+
+    /**
+     * Get statistics for the connection pool.
+     * @return pool statistics, or null if this transport uses a pre-configured HttpClient
+    **/
+    @Override
+    public ConnectionPoolStats getPoolStats() {
+        if (connectionManager == null) {
+            return null;
+        }
+        final PoolStats stats = connectionManager.getTotalStats();
+        return new ConnectionPoolStats(stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+    }
+
+    /**
+     * Stop the idle connection evictor and shut down the connection pool.  Has no effect on a pre-configured
+     * HttpClient, which remains the responsibility of the caller.
+    **/
+    @Override
+    public void close() {
+        if (connectionEvictor != null) {
+            connectionEvictor.shutdown();
+        }
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+        }
+    }
+
+    private static PoolingHttpClientConnectionManager buildConnectionManager(final ConnectionPoolConfig poolConfig) {
+        // persistent connections are pooled and reused across requests; the pool is bounded so bursts queue
+        // for a connection instead of opening sockets without limit
+        final PoolingHttpClientConnectionManager connMann =
+                new PoolingHttpClientConnectionManager(poolConfig.getTimeToLive(), MILLISECONDS);
+        connMann.setMaxTotal(poolConfig.getMaxTotal());
+        connMann.setDefaultMaxPerRoute(poolConfig.getMaxPerRoute());
+        connMann.setValidateAfterInactivity(poolConfig.getValidateAfterInactivity());
+        return connMann;
+    }
+
+    private static IdleConnectionEvictor buildEvictor(final PoolingHttpClientConnectionManager connMann,
+                                                      final ConnectionPoolConfig poolConfig) {
+        if (poolConfig.getMaxIdleTime() <= 0) {
+            return null;
+        }
+        // closes expired connections and those idle longer than the max idle time
+        final IdleConnectionEvictor evictor = new IdleConnectionEvictor(connMann,
+                poolConfig.getMaxIdleTime(), MILLISECONDS, poolConfig.getMaxIdleTime(), MILLISECONDS);
+        evictor.start();
+        return evictor;
+    }
+
+    private static HttpClient buildClient(final String fedoraUsername,
+                                          final String fedoraPassword,
+                                          final String repositoryURL,
+                                          final PoolingHttpClientConnectionManager connMann,
+                                          final ConnectionPoolConfig poolConfig) {
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(poolConfig.getLeaseTimeout())
+                .build();
+
+        final HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connMann)
+                .setDefaultRequestConfig(requestConfig)
+                .setRedirectStrategy(new DefaultRedirectStrategy())
+                .setRetryHandler(new StandardHttpRequestRetryHandler(0, false));
+
+        // If the Fedora instance requires authentication, set it up here
+        final CredentialsProvider credsProvider = buildCredentialsProvider(fedoraUsername, fedoraPassword,
+                                                                           repositoryURL);
+        if (credsProvider != null) {
+            builder.setDefaultCredentialsProvider(credsProvider);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build an auth cache that sends BASIC credentials to the repository pre-emptively, whether the repository
+     * is actually protected or not.  The cache is safe for concurrent use.
+    **/
+    static AuthCache buildAuthCache(final String repositoryURL) {
+        final URI uri = URI.create(repositoryURL);
+        final AuthCache authCache = new BasicAuthCache();
+        authCache.put(new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme()), new BasicScheme());
+        return authCache;
+    }
+
+    static CredentialsProvider buildCredentialsProvider(final String fedoraUsername,
+                                                        final String fedoraPassword,
+                                                        final String repositoryURL) {
+        if (isBlank(fedoraUsername) || isBlank(fedoraPassword)) {
+            return null;
+        }
+
+        LOGGER.debug("Adding BASIC credentials to client for repo requests.");
+
+        final URI fedoraUri = URI.create(repositoryURL);
+        final CredentialsProvider credsProvider = new BasicCredentialsProvider();
+        credsProvider.setCredentials(new AuthScope(fedoraUri.getHost(), fedoraUri.getPort()),
+                                     new UsernamePasswordCredentials(fedoraUsername, fedoraPassword));
+        return credsProvider;
+    }
+
+    /**
+     * Response of an Apache HttpClient request.  The entity's content type and encoding are included in the
+     * headers in case the entity was built without matching headers.
+    **/
+    private static class ApacheTransportResponse implements TransportResponse {
+        private final HttpUriRequest request;
+        private final HttpResponse response;
+        private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        ApacheTransportResponse(final HttpUriRequest request, final HttpResponse response) {
+            this.request = request;
+            this.response = response;
+            final Header[] responseHeaders = response.getAllHeaders();
+            if (responseHeaders != null) {
+                for (final Header header : responseHeaders) {
+                    addHeader(header);
+                }
+            }
+            final HttpEntity entity = response.getEntity();
+            if (entity != null) {
+                if (entity.getContentType() != null && !headers.containsKey(entity.getContentType().getName())) {
+                    addHeader(entity.getContentType());
+                }
+                if (entity.getContentEncoding() != null
+                        && !headers.containsKey(entity.getContentEncoding().getName())) {
+                    addHeader(entity.getContentEncoding());
+                }
+            }
+        }
+
+        private void addHeader(final Header header) {
+            List<String> values = headers.get(header.getName());
+            if (values == null) {
+                values = new ArrayList<>(1);
+                headers.put(header.getName(), values);
+            }
+            values.add(header.getValue());
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.getStatusLine().getStatusCode();
+        }
+
+        @Override
+        public String getReasonPhrase() {
+            return response.getStatusLine().getReasonPhrase();
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            final HttpEntity entity = response.getEntity();
+            return entity == null ? null : entity.getContent();
+        }
+
+        @Override
+        public void abort() {
+            // a connection that was already released by reading or closing the body is not affected
+            request.abort();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.graph.impl.GraphBase;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import com.hp.hpl.jena.util.iterator.NiceIterator;
+
+/**
+ * Read-only graph holding its triples in one array sorted by subject, plus an array of positions sorted by
+ * predicate.  This takes a fraction of the memory of the default in-memory graph, which keeps three hash
+ * indexes of its triples, and still answers lookups by subject or by predicate with a binary search.  Any
+ * attempt to add or delete triples is denied.
+ *
+ * @author agent
+ * @since 2026-10-16
+ */
+public class CompactGraph extends GraphBase {
+
+    // orders by subject, then predicate, then object hash, so equal triples are next to each other
+    private static final Comparator<Triple> BY_SUBJECT = new Comparator<Triple>() {
+        @Override
+        public int compare(final Triple t1, final Triple t2) {
+            final int bySubject = Integer.compare(t1.getSubject().hashCode(), t2.getSubject().hashCode());
+            if (bySubject != 0) {
+                return bySubject;
+            }
+            final int byPredicate = Integer.compare(t1.getPredicate().hashCode(), t2.getPredicate().hashCode());
+            return byPredicate != 0 ? byPredicate
+                    : Integer.compare(t1.getObject().hashCode(), t2.getObject().hashCode());
+        }
+    };
+
+    private final Triple[] triples;
+    private final int[] byPredicate;
+
+    /**
+     * @param triples Distinct triples, sorted by subject
+     */
+    private CompactGraph(final Triple[] triples) {
+        this.triples = triples;
+
+        // pack each predicate hash with the triple's position, so sorting the keys sorts the positions
+        final long[] keys = new long[triples.length];
+        for (int i = 0; i < triples.length; i++) {
+            keys[i] = ((long) triples[i].getPredicate().hashCode() << 32) | i;
+        }
+        Arrays.sort(keys);
+        this.byPredicate = new int[triples.length];
+        for (int i = 0; i < keys.length; i++) {
+            byPredicate[i] = (int) keys[i];
+        }
+    }
+
+    /**
+     * Create a compact copy of a graph.
+     *
+     * @param graph The graph to copy
+     * @return a read-only graph containing the same triples
+     */
+    public static CompactGraph copyOf(final Graph graph) {
+        if (graph instanceof CompactGraph) {
+            return (CompactGraph) graph;
+        }
+        return copyOf(graph.find(Node.ANY, Node.ANY, Node.ANY).toList());
+    }
+
+    /**
+     * Create a compact graph of triples.  Duplicate triples are only stored once.  The triples are copied into
+     * a single array, which is sorted and has its duplicates removed in place.
+     *
+     * @param triples The triples
+     * @return a read-only graph containing the triples
+     */
+    public static CompactGraph copyOf(final Collection<Triple> triples) {
+        final Triple[] sorted = triples.toArray(new Triple[triples.size()]);
+        Arrays.sort(sorted, BY_SUBJECT);
+        final int distinct = removeDuplicates(sorted);
+        return new CompactGraph(distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct));
+    }
+
+    /**
+     * Move the distinct triples of a sorted array to its front.  Equal triples have equal hashes, so each
+     * triple is only compared with the kept triples in its run of equal hashes, which is usually just one.
+     *
+     * @return the number of distinct triples
+     */
+    private static int removeDuplicates(final Triple[] sorted) {
+        int distinct = 0;
+        int runStart = 0;
+        for (final Triple triple : sorted) {
+            if (distinct == 0 || BY_SUBJECT.compare(sorted[distinct - 1], triple) != 0) {
+                runStart = distinct;
+            }
+            boolean duplicate = false;
+            for (int i = runStart; i < distinct && !duplicate; i++) {
+                duplicate = sorted[i].equals(triple);
+            }
+            if (!duplicate) {
+                sorted[distinct++] = triple;
+            }
+        }
+        return distinct;
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(final Triple pattern) {
+        final Node subject = pattern.getMatchSubject();
+        final Node predicate = pattern.getMatchPredicate();
+        if (subject != null) {
+            final int hash = subject.hashCode();
+            return new MatchIterator(pattern, firstWithSubjectHash(hash), null) {
+                @Override
+                protected boolean inRange(final Triple triple) {
+                    return triple.getSubject().hashCode() == hash;
+                }
+            };
+        } else if (predicate != null) {
+            final int hash = predicate.hashCode();
+            return new MatchIterator(pattern, firstWithPredicateHash(hash), byPredicate) {
+                @Override
+                protected boolean inRange(final Triple triple) {
+                    return triple.getPredicate().hashCode() == hash;
+                }
+            };
+        }
+        return new MatchIterator(pattern, 0, null) {
+            @Override
+            protected boolean inRange(final Triple triple) {
+                return true;
+            }
+        };
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return triples.length;
+    }
+
+    private int firstWithSubjectHash(final int hash) {
+        int low = 0;
+        int high = triples.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (triples[mid].getSubject().hashCode() < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstWithPredicateHash(final int hash) {
+        int low = 0;
+        int high = byPredicate.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (triples[byPredicate[mid]].getPredicate().hashCode() < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Walks the triples from a starting position while they are in the range of the lookup key, returning
+     * those that match the pattern.
+     */
+    private abstract class MatchIterator extends NiceIterator<Triple> {
+        private final Triple pattern;
+        private final int[] positions;
+        private int index;
+        private Triple next;
+
+        private MatchIterator(final Triple pattern, final int start, final int[] positions) {
+            this.pattern = pattern;
+            this.positions = positions;
+            this.index = start;
+        }
+
+        protected abstract boolean inRange(final Triple triple);
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && index < triples.length) {
+                final Triple triple = triples[positions == null ? index : positions[index]];
+                index++;
+                if (!inRange(triple)) {
+                    index = triples.length;
+                } else if (pattern.matches(triple)) {
+                    next = triple;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Triple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Triple triple = next;
+            next = null;
+            return triple;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+/**
+ * Settings for the connection pools of the HTTP clients built by HttpHelper.  All setters return the updated
+ * object so they can be chained:
+ * <pre>{@code ConnectionPoolConfig config = new ConnectionPoolConfig().setMaxTotal(50).setLeaseTimeout(5000);}</pre>
+ * All times are in milliseconds.
+ *
+ * @author agent
+ * @since 2026-10-16
+**/
+public class ConnectionPoolConfig {
+
+    private int maxTotal = 200;
+    private int maxPerRoute = 200;
+    private long timeToLive = -1;
+    private int validateAfterInactivity = 2000;
+    private long maxIdleTime = -1;
+    private int leaseTimeout = -1;
+
+    /**
+     * Default constructor.
+    **/
+    public ConnectionPoolConfig() {
+    }
+
+    /**
+     * Get the maximum number of open connections.
+     *
+     * @return maximum number of connections
+    **/
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * Get the maximum number of open connections to a single host.
+     *
+     * @return maximum number of connections per host
+    **/
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /**
+     * Get the maximum lifetime of a connection, or a value &lt;= 0 if connections may live indefinitely.
+     *
+     * @return connection time to live
+    **/
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Get the period of inactivity after which a pooled connection is checked before being reused, or a value
+     * &lt;= 0 to disable the check.
+     *
+     * @return inactivity period before validation
+    **/
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    /**
+     * Get the time after which idle connections are closed by the background evictor, or a value &lt;= 0 if
+     * the evictor is disabled (the default).
+     *
+     * @return maximum idle time
+    **/
+    public long getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    /**
+     * Get the maximum time to wait for a connection from the pool, or a value &lt; 0 to wait indefinitely.
+     *
+     * @return pool lease timeout
+    **/
+    public int getLeaseTimeout() {
+        return leaseTimeout;
+    }
+
+    /**
+     * Set the maximum number of open connections.
+     *
+     * @param maxTotal maximum number of connections
+     * @return The updated object for chaining.
+    **/
+    public ConnectionPoolConfig setMaxTotal( final int maxTotal ) {
+        this.maxTotal = maxTotal;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of open connections to a single host.
+     *
+     * @param maxPerRoute maximum number of connections per host
+     * @return The updated object for chaining.
+    **/
+    public ConnectionPoolConfig setMaxPerRoute( final int maxPerRoute ) {
+        this.maxPerRoute = maxPerRoute;
+        return this;
+    }
+
+    /**
+     * Set the maximum lifetime of a connection; a value &lt;= 0 lets connections live indefinitely.
+     *
+     * @param timeToLive connection time to live
+     * @return The updated object for chaining.
+    **/
+    public ConnectionPoolConfig setTimeToLive( final long timeToLive ) {
+        this.timeToLive = timeToLive;
+        return this;
+    }
+
+    /**
+     * Set the period of inactivity after which a pooled connection is checked for staleness before being
+     * reused; a value &lt;= 0 disables the check.
+     *
+     * @param validateAfterInactivity inactivity period before validation
+     * @return The updated object for chaining.
+    **/
+    public ConnectionPoolConfig setValidateAfterInactivity( final int validateAfterInactivity ) {
+        this.validateAfterInactivity = validateAfterInactivity;
+        return this;
+    }
+
+    /**
+     * Set the time after which idle connections are closed by a background evictor; a value &lt;= 0
+     * disables the evictor.  The evictor runs in its own thread, which is only stopped when the repository or
+     * HttpHelper using this configuration is closed.
+     *
+     * @param maxIdleTime maximum idle time
+     * @return The updated object for chaining.
+    **/
+    public ConnectionPoolConfig setMaxIdleTime( final long maxIdleTime ) {
+        this.maxIdleTime = maxIdleTime;
+        return this;
+    }
+
+    /**
+     * Set the maximum time to wait for a connection from the pool; a value &lt; 0 waits indefinitely.
+     *
+     * @param leaseTimeout pool lease timeout
+     * @return The updated object for chaining.
+    **/
+    public ConnectionPoolConfig setLeaseTimeout( final int leaseTimeout ) {
+        this.leaseTimeout = leaseTimeout;
+        return this;
+    }
+}
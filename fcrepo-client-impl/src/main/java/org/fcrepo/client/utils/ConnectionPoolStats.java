@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+/**
+ * Snapshot of the state of an HttpTransport's connection pool.
+ *
+ * @author agent
+ * @since 2026-10-17
+**/
+public class ConnectionPoolStats {
+
+    private final int leased;
+    private final int pending;
+    private final int available;
+    private final int max;
+
+    /**
+     * Create a snapshot of a connection pool.
+     * @param leased number of connections in use
+     * @param pending number of requests waiting for a connection
+     * @param available number of idle connections
+     * @param max maximum number of connections
+    **/
+    public ConnectionPoolStats( final int leased, final int pending, final int available, final int max ) {
+        this.leased = leased;
+        this.pending = pending;
+        this.available = available;
+        this.max = max;
+    }
+
+    /**
+     * Get the number of connections in use.
+     * @return leased connections
+    **/
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * Get the number of requests waiting for a connection.
+     * @return pending requests
+    **/
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * Get the number of idle connections kept open for reuse.
+     * @return available connections
+    **/
+    public int getAvailable() {
+        return available;
+    }
+
+    /**
+     * Get the maximum number of connections.
+     * @return maximum connections
+    **/
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "[leased: " + leased + "; pending: " + pending + "; available: " + available + "; max: " + max + "]";
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Short-lived record of which paths exist in the repository, so repeated existence checks on the same paths
+ * don't each need a request.  Both positive and negative results are kept until they expire.  Changes made by
+ * other clients are only seen once a result expires, so the time to live should be short; changes made through
+ * this client invalidate the affected paths right away.
+ *
+ * <p>Paths are kept sorted, so invalidating a path only visits the cached paths below it.  Trailing slashes
+ * are ignored, so "/a/" and "/a" are the same path.
+ *
+ * @author agent
+ * @since 2026-10-16
+**/
+public class ExistenceCache {
+
+    private final ConcurrentNavigableMap<String, Result> results = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final long timeToLive;
+    private final int maxEntries;
+
+    /**
+     * Create a cache.
+     * @param timeToLive Time in milliseconds for which a result is kept
+     * @param maxEntries Maximum number of paths to keep
+    **/
+    public ExistenceCache(final long timeToLive, final int maxEntries) {
+        this.timeToLive = MILLISECONDS.toNanos(timeToLive);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the cached existence of a path.
+     * @param path The repository path
+     * @return true if the path exists, false if it doesn't, or null if it is not known
+    **/
+    public Boolean get(final String path) {
+        final String key = normalize(path);
+        final Result result = results.get(key);
+        if (result == null) {
+            return null;
+        } else if (result.isExpired(System.nanoTime())) {
+            remove(key, result);
+            return null;
+        }
+        return result.exists;
+    }
+
+    /**
+     * Record whether a path exists.
+     * @param path The repository path
+     * @param exists Whether the path exists
+    **/
+    public void put(final String path, final boolean exists) {
+        final String key = normalize(path);
+        final long now = System.nanoTime();
+        if (size.get() >= maxEntries && !results.containsKey(key)) {
+            removeExpired(now);
+            if (size.get() >= maxEntries) {
+                return;
+            }
+        }
+        if (results.put(key, new Result(exists, now + timeToLive)) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Forget what is known about a path and the paths below it, after it was changed.  Only the path and the
+     * cached paths below it are visited.
+     * @param path The repository path
+    **/
+    public void invalidate(final String path) {
+        final String key = normalize(path);
+        if (key.isEmpty() || key.equals("/")) {
+            clear();
+            return;
+        }
+        final Result result = results.get(key);
+        if (result != null) {
+            remove(key, result);
+        }
+        // '0' follows '/', so this range holds exactly the paths starting with key + "/"
+        removeAll(results.subMap(key + "/", key + "0").entrySet().iterator());
+    }
+
+    /**
+     * Forget everything that is cached, after changes to an unknown set of paths.
+    **/
+    public void clear() {
+        while (results.pollFirstEntry() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the number of cached paths.
+     * @return number of paths
+    **/
+    public int size() {
+        return size.get();
+    }
+
+    private void removeExpired(final long now) {
+        final Iterator<Map.Entry<String, Result>> entries = results.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<String, Result> entry = entries.next();
+            if (entry.getValue().isExpired(now)) {
+                remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void removeAll(final Iterator<Map.Entry<String, Result>> entries) {
+        while (entries.hasNext()) {
+            final Map.Entry<String, Result> entry = entries.next();
+            remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void remove(final String key, final Result result) {
+        if (results.remove(key, result)) {
+            size.decrementAndGet();
+        }
+    }
+
+    private static String normalize(final String path) {
+        int end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(0, end);
+    }
+
+    /**
+     * Existence of a path and the time at which it expires.
+    **/
+    private static class Result {
+        private final boolean exists;
+        private final long expires;
+
+        private Result(final boolean exists, final long expires) {
+            this.exists = exists;
+            this.expires = expires;
+        }
+
+        private boolean isExpired(final long now) {
+            return expires - now <= 0;
+        }
+    }
+}
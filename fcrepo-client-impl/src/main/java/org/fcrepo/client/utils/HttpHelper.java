@@ -15,14 +15,21 @@
  */
 package org.fcrepo.client.utils;
 
-import static java.lang.Integer.MAX_VALUE;
 
+import static org.apache.http.HttpVersion.HTTP_1_1;
 import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
 import static org.apache.http.HttpStatus.SC_FORBIDDEN;
+import static org.apache.http.HttpStatus.SC_NOT_ACCEPTABLE;
 import static org.apache.http.HttpStatus.SC_NOT_FOUND;
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
 import static org.apache.http.HttpStatus.SC_OK;
 
+import static org.apache.jena.riot.Lang.NTRIPLES;
+import static org.apache.jena.riot.Lang.RDFXML;
 import static org.apache.jena.riot.WebContent.contentTypeSPARQLUpdate;
+import static org.fcrepo.client.PreferProfile.NO_CONTAINMENT;
+import static org.fcrepo.client.PreferProfile.WITH_EMBEDDED;
+import static org.fcrepo.kernel.api.RdfLexicon.CONTAINS;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -30,32 +37,40 @@ import static org.slf4j.LoggerFactory.getLogger;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
-import java.net.URI;
 import java.net.URLEncoder;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
-import org.apache.http.HttpHost;
 import org.apache.http.client.AuthCache;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.client.protocol.HttpClientContext;
-import org.apache.http.impl.auth.BasicScheme;
-import org.apache.http.impl.client.BasicAuthCache;
-import org.apache.http.protocol.HttpContext;
+import org.fcrepo.client.AlreadyExistsException;
 import org.fcrepo.client.BadRequestException;
 import org.fcrepo.client.ForbiddenException;
 import org.fcrepo.client.NotFoundException;
 
-import com.hp.hpl.jena.graph.Node;
-
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.AbstractExecutionAwareRequest;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
@@ -63,22 +78,23 @@ import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.InputStreamEntity;
-import org.apache.http.impl.client.BasicCredentialsProvider;
-import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.impl.client.DefaultRedirectStrategy;
-import org.apache.http.impl.client.StandardHttpRequestRetryHandler;
-import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.nio.client.HttpAsyncClient;
 
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFLanguages;
-import org.apache.jena.riot.RiotReader;
-import org.apache.jena.riot.lang.CollectorStreamTriples;
 
 import org.fcrepo.client.FedoraContent;
 import org.fcrepo.client.FedoraException;
 import org.fcrepo.client.FedoraObject;
+import org.fcrepo.client.PreferProfile;
 import org.fcrepo.client.ReadOnlyException;
 import org.fcrepo.client.impl.FedoraResourceImpl;
 
@@ -94,9 +110,16 @@ public class HttpHelper {
     private static final Logger LOGGER = getLogger(HttpHelper.class);
 
     private final String repositoryURL;
-    private final HttpClient httpClient;
+    private final HttpTransport transport;
     private final boolean readOnly;
-    private final HttpContext httpContext;
+    private final AuthCache authCache;
+    private volatile Lang propertiesLang = NTRIPLES;
+    private volatile boolean propertiesLangExplicit = false;
+    private final NodeInterner nodeInterner = new NodeInterner();
+    private volatile PropertiesCache propertiesCache;
+    private volatile ExistenceCache existenceCache;
+    private final ConcurrentMap<String, CompletableFuture<PropertiesCache.Entry>> propertiesLoads =
+            new ConcurrentHashMap<>();
 
     /**
      * Create an HTTP helper with a pre-configured HttpClient instance.
@@ -105,28 +128,12 @@ public class HttpHelper {
      * @param readOnly If true, throw an exception when an update is attempted.
     **/
     public HttpHelper(final String repositoryURL, final HttpClient httpClient, final boolean readOnly) {
-        this.repositoryURL = repositoryURL;
-        this.httpClient = httpClient;
-        this.readOnly = readOnly;
-
-        // Use pre-emptive Auth whether the repository is actually protected or not.
-        final URI uri = URI.create(repositoryURL);
-        final HttpHost target = new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme());
-
-        final AuthCache authCache = new BasicAuthCache();
-        final BasicScheme basicAuth = new BasicScheme();
-        authCache.put(target, basicAuth);
-
-        // Add AuthCache to the execution context
-        final HttpClientContext localContext = HttpClientContext.create();
-        localContext.setAuthCache(authCache);
-
-        this.httpContext = localContext;
+        this(repositoryURL, new ApacheHttpTransport(repositoryURL, httpClient), readOnly);
     }
 
     /**
-     * Create an HTTP helper for the specified repository.  If fedoraUsername and fedoraPassword are not null, then
-     * they will be used to connect to the repository.
+     * Create an HTTP helper for the specified repository, using the default connection pool settings.  If
+     * fedoraUsername and fedoraPassword are not null, then they will be used to connect to the repository.
      * @param repositoryURL Fedora base URL.
      * @param fedoraUsername Fedora username
      * @param fedoraPassword Fedora password
@@ -134,32 +141,105 @@ public class HttpHelper {
     **/
     public HttpHelper(final String repositoryURL, final String fedoraUsername, final String fedoraPassword,
                       final boolean readOnly) {
-        this(repositoryURL, buildClient(fedoraUsername, fedoraPassword, repositoryURL), readOnly);
+        this(repositoryURL, fedoraUsername, fedoraPassword, readOnly, new ConnectionPoolConfig());
     }
 
-    private static HttpClient buildClient(final String fedoraUsername,
-                                          final String fedoraPassword,
-                                          final String repositoryURL) {
-        final PoolingClientConnectionManager connMann = new PoolingClientConnectionManager();
-        connMann.setMaxTotal(MAX_VALUE);
-        connMann.setDefaultMaxPerRoute(MAX_VALUE);
+    /**
+     * Create an HTTP helper for the specified repository with a tuned connection pool.  If fedoraUsername and
+     * fedoraPassword are not null, then they will be used to connect to the repository.
+     * @param repositoryURL Fedora base URL.
+     * @param fedoraUsername Fedora username
+     * @param fedoraPassword Fedora password
+     * @param readOnly If true, throw an exception when an update is attempted.
+     * @param poolConfig Connection pool settings.
+    **/
+    public HttpHelper(final String repositoryURL, final String fedoraUsername, final String fedoraPassword,
+                      final boolean readOnly, final ConnectionPoolConfig poolConfig) {
+        this(repositoryURL, ApacheHttpTransport.create(repositoryURL, fedoraUsername, fedoraPassword, poolConfig),
+             readOnly);
+    }
 
-        final DefaultHttpClient httpClient = new DefaultHttpClient(connMann);
-        httpClient.setRedirectStrategy(new DefaultRedirectStrategy());
-        httpClient.setHttpRequestRetryHandler(new StandardHttpRequestRetryHandler(0, false));
+    /**
+     * Create an HTTP helper that sends all requests made by it and the resources using it through a transport.
+     * @param repositoryURL Fedora base URL.
+     * @param transport Transport used to execute requests.
+     * @param readOnly If true, throw an exception when an update is attempted.
+    **/
+    public HttpHelper(final String repositoryURL, final HttpTransport transport, final boolean readOnly) {
+        this.repositoryURL = repositoryURL;
+        this.transport = transport;
+        this.readOnly = readOnly;
 
-        // If the Fedora instance requires authentication, set it up here
-        if (!isBlank(fedoraUsername) && !isBlank(fedoraPassword)) {
-            LOGGER.debug("Adding BASIC credentials to client for repo requests.");
+        // Use pre-emptive Auth for asynchronous requests, the same as the Apache transport does
+        this.authCache = ApacheHttpTransport.buildAuthCache(repositoryURL);
+    }
 
-            final URI fedoraUri = URI.create(repositoryURL);
-            final CredentialsProvider credsProvider = new BasicCredentialsProvider();
-            credsProvider.setCredentials(new AuthScope(fedoraUri.getHost(), fedoraUri.getPort()),
-                                         new UsernamePasswordCredentials(fedoraUsername, fedoraPassword));
+    /**
+     * Get statistics for the connection pool, e.g. the number of leased, available and pending connections.
+     * @return pool statistics, or null if the transport does not manage a pool (e.g., a pre-configured
+     *         HttpClient)
+    **/
+    public ConnectionPoolStats getPoolStats() {
+        return transport.getPoolStats();
+    }
 
-            httpClient.setCredentialsProvider(credsProvider);
+    /**
+     * Release the connections and threads owned by the transport.  Has no effect on a pre-configured
+     * HttpClient, which remains the responsibility of the caller.
+    **/
+    public void close() {
+        transport.close();
+    }
+
+    /**
+     * Build a non-blocking HTTP client for the specified repository, using the default connection pool settings.
+     * The client is returned already started; callers are responsible for closing it.  If fedoraUsername and
+     * fedoraPassword are not null, then they will be used to connect to the repository.
+     * @param fedoraUsername Fedora username
+     * @param fedoraPassword Fedora password
+     * @param repositoryURL Fedora base URL.
+     * @return started asynchronous HTTP client
+    **/
+    public static CloseableHttpAsyncClient buildAsyncClient(final String fedoraUsername,
+                                                            final String fedoraPassword,
+                                                            final String repositoryURL) {
+        return buildAsyncClient(fedoraUsername, fedoraPassword, repositoryURL, new ConnectionPoolConfig());
+    }
+
+    /**
+     * Build a non-blocking HTTP client for the specified repository with a bounded connection pool.  The pool
+     * size and lease timeout are taken from the pool settings; the time to live, validation and idle eviction
+     * settings only apply to the blocking client.  The client is returned already started; callers are
+     * responsible for closing it.
+     * @param fedoraUsername Fedora username
+     * @param fedoraPassword Fedora password
+     * @param repositoryURL Fedora base URL.
+     * @param poolConfig Connection pool settings.
+     * @return started asynchronous HTTP client
+    **/
+    public static CloseableHttpAsyncClient buildAsyncClient(final String fedoraUsername,
+                                                            final String fedoraPassword,
+                                                            final String repositoryURL,
+                                                            final ConnectionPoolConfig poolConfig) {
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(poolConfig.getLeaseTimeout())
+                .build();
+
+        final HttpAsyncClientBuilder builder = HttpAsyncClients.custom()
+                .setMaxConnTotal(poolConfig.getMaxTotal())
+                .setMaxConnPerRoute(poolConfig.getMaxPerRoute())
+                .setDefaultRequestConfig(requestConfig)
+                .setRedirectStrategy(new DefaultRedirectStrategy());
+
+        final CredentialsProvider credsProvider =
+                ApacheHttpTransport.buildCredentialsProvider(fedoraUsername, fedoraPassword, repositoryURL);
+        if (credsProvider != null) {
+            builder.setDefaultCredentialsProvider(credsProvider);
         }
-        return httpClient;
+
+        final CloseableHttpAsyncClient asyncClient = builder.build();
+        asyncClient.start();
+        return asyncClient;
     }
 
     /**
@@ -171,6 +251,128 @@ public class HttpHelper {
      * @throws ReadOnlyException
     **/
     public HttpResponse execute( final HttpUriRequest request ) throws IOException, ReadOnlyException {
+        checkReadOnly( request );
+        final TransportResponse response = transport.execute( toTransportRequest( request ) );
+        if ( request instanceof AbstractExecutionAwareRequest ) {
+            // aborting or releasing the request ends the exchange, as it would for a request executed directly
+            ((AbstractExecutionAwareRequest) request).setCancellable( new Cancellable() {
+                @Override
+                public boolean cancel() {
+                    response.abort();
+                    return true;
+                }
+            });
+        }
+        return toHttpResponse( response );
+    }
+
+    private static TransportRequest toTransportRequest( final HttpUriRequest request ) throws IOException {
+        final TransportRequest transportRequest = new TransportRequest( request.getMethod(), request.getURI() );
+        for ( final Header header : request.getAllHeaders() ) {
+            transportRequest.addHeader( header.getName(), header.getValue() );
+        }
+        if ( request instanceof HttpEntityEnclosingRequest ) {
+            final HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if ( entity != null ) {
+                addEntityHeader( transportRequest, entity.getContentType() );
+                addEntityHeader( transportRequest, entity.getContentEncoding() );
+                transportRequest.setBody( entity.getContent(), entity.getContentLength() );
+            }
+        }
+        return transportRequest;
+    }
+
+    private static void addEntityHeader( final TransportRequest request, final Header header ) {
+        if ( header != null && !request.getHeaders().containsKey( header.getName() ) ) {
+            request.addHeader( header.getName(), header.getValue() );
+        }
+    }
+
+    private static HttpResponse toHttpResponse( final TransportResponse response ) throws IOException {
+        final HttpResponse httpResponse = new BasicHttpResponse( HTTP_1_1, response.getStatusCode(),
+                                                                 response.getReasonPhrase() );
+        for ( final Map.Entry<String, List<String>> header : response.getHeaders().entrySet() ) {
+            for ( final String value : header.getValue() ) {
+                httpResponse.addHeader( header.getKey(), value );
+            }
+        }
+        final InputStream body = response.getBody();
+        if ( body != null ) {
+            final BasicHttpEntity entity = new BasicHttpEntity();
+            entity.setContent( body );
+            final Header length = httpResponse.getFirstHeader( "Content-Length" );
+            entity.setContentLength( length == null ? -1 : Long.parseLong( length.getValue().trim() ) );
+            entity.setContentType( httpResponse.getFirstHeader( "Content-Type" ) );
+            entity.setContentEncoding( httpResponse.getFirstHeader( "Content-Encoding" ) );
+            httpResponse.setEntity( entity );
+        }
+        return httpResponse;
+    }
+
+    /**
+     * Execute a request without blocking the calling thread.  The callback is invoked by one of the client's
+     * I/O dispatch threads once the response has been fully received.
+     *
+     * @param request request to be executed
+     * @param asyncClient non-blocking client used to execute the request
+     * @param callback callback notified with the response, failure or cancellation
+     * @return future of the response
+     * @throws ReadOnlyException
+    **/
+    public Future<HttpResponse> execute( final HttpUriRequest request, final HttpAsyncClient asyncClient,
+                                         final FutureCallback<HttpResponse> callback ) throws ReadOnlyException {
+        checkReadOnly( request );
+        return asyncClient.execute(request, createContext(), callback);
+    }
+
+    /**
+     * Execute a request without blocking the calling thread.  The returned future is completed by one of the
+     * client's I/O dispatch threads, so callers should read the response in an asynchronous stage on an executor
+     * of their own, such as thenApplyAsync(fn, executor).
+     *
+     * @param request request to be executed
+     * @param asyncClient non-blocking client used to execute the request
+     * @return future of the response, completed exceptionally with a FedoraException if the request failed
+    **/
+    public CompletableFuture<HttpResponse> execute( final HttpUriRequest request,
+                                                    final HttpAsyncClient asyncClient ) {
+        final CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        final String uri = request.getURI().toString();
+        try {
+            execute(request, asyncClient, new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(final HttpResponse response) {
+                    future.complete(response);
+                }
+
+                @Override
+                public void failed(final Exception e) {
+                    LOGGER.error("Error executing request for {}: {}", uri, e.getMessage());
+                    future.completeExceptionally(new FedoraException(e));
+                }
+
+                @Override
+                public void cancelled() {
+                    future.cancel(false);
+                }
+            });
+        } catch (final ReadOnlyException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Create the execution context for a single request.  Contexts hold per-exchange state and are not safe to
+     * share between threads, so every request gets a new one carrying the shared pre-emptive auth cache.
+    **/
+    private HttpClientContext createContext() {
+        final HttpClientContext context = HttpClientContext.create();
+        context.setAuthCache(authCache);
+        return context;
+    }
+
+    private void checkReadOnly( final HttpUriRequest request ) throws ReadOnlyException {
         if ( readOnly ) {
             switch ( request.getMethod().toLowerCase() ) {
                 case "copy": case "delete": case "move": case "patch": case "post": case "put":
@@ -179,8 +381,6 @@ public class HttpHelper {
                     break;
             }
         }
-
-        return httpClient.execute(request, httpContext);
     }
 
     /**
@@ -330,57 +530,130 @@ public class HttpHelper {
     }
 
     /**
-     * Retrieve RDF from the repository and update the properties of a resource
+     * Retrieve RDF from the repository and update the properties of a resource.  Concurrent loads of the same
+     * properties are coalesced: the first caller makes the request, and the others wait for it and share its
+     * result (or its error).  A load is not joined once this client has changed the resource after it started
+     * (see discardLoads).
      * @param resource The resource to update
      * @return the updated resource
      * @throws FedoraException
     **/
     public FedoraResourceImpl loadProperties( final FedoraResourceImpl resource ) throws FedoraException {
-        final String path = resource.getPropertiesPath();
-        final HttpGet get = createGetMethod(path, null);
-        if (resource instanceof FedoraObject) {
-            get.addHeader("Prefer", "return=representation; "
-                + "include=\"http://fedora.info/definitions/v4/repository#EmbedResources\"");
+        return loadProperties(resource, true);
+    }
+
+    /**
+     * Retrieve RDF from the repository and update the properties of a resource, if it exists.  A missing
+     * resource is reported with a stackless exception that is handled here, so lookups of paths that are
+     * expected to be missing stay cheap.
+     * @param resource The resource to update
+     * @return the updated resource, or null if it does not exist
+     * @throws FedoraException
+    **/
+    public FedoraResourceImpl tryLoadProperties( final FedoraResourceImpl resource ) throws FedoraException {
+        try {
+            return loadProperties(resource, false);
+        } catch (final NotFoundException e) {
+            return null;
+        }
+    }
+
+    private FedoraResourceImpl loadProperties( final FedoraResourceImpl resource, final boolean stackTrace )
+            throws FedoraException {
+        final String key = getRequestKey(resource);
+        final CompletableFuture<PropertiesCache.Entry> flight = new CompletableFuture<>();
+        final CompletableFuture<PropertiesCache.Entry> leader = propertiesLoads.putIfAbsent(key, flight);
+        if (leader != null) {
+            LOGGER.debug("Waiting for concurrent load of {}", key);
+            final PropertiesCache.Entry loaded = awaitLoad(leader, stackTrace);
+            resource.setEtagValue(loaded.getEtag());
+            resource.setGraph(loaded.getGraph());
+            return resource;
         }
 
         try {
-            get.setHeader("accept", "application/rdf+xml");
-            final HttpResponse response = execute(get);
+            fetchProperties(resource, key, propertiesLang, stackTrace);
+            flight.complete(new PropertiesCache.Entry(resource.getEtagValue(), resource.getGraph()));
+            return resource;
+        } catch (final FedoraException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            propertiesLoads.remove(key, flight);
+        }
+    }
 
-            final String uri = get.getURI().toString();
-            final StatusLine status = response.getStatusLine();
+    /**
+     * Stop later loads from joining loads of a resource's properties that are already in flight, after this
+     * client changed the resource.  A load that started before the change may return the old properties, so
+     * reloads after a write, and any load started after it, make a new request instead.  Callers that already
+     * joined an earlier load still share its result.
+     * @param propertiesPath Path of the changed resource's properties
+    **/
+    public void discardLoads( final String propertiesPath ) {
+        final String prefix = repositoryURL + propertiesPath + " ";
+        // only loads currently in flight are kept, so this map is small
+        for (final String key : propertiesLoads.keySet()) {
+            if (key.startsWith(prefix)) {
+                propertiesLoads.remove(key);
+            }
+        }
+    }
 
-            if (status.getStatusCode() == SC_OK) {
-                LOGGER.debug("Updated properties for resource {}", uri);
+    private static PropertiesCache.Entry awaitLoad( final CompletableFuture<PropertiesCache.Entry> load,
+                                                    final boolean stackTrace ) throws FedoraException {
+        try {
+            return load.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FedoraException(e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof FedoraException) {
+                throw copyFailure((FedoraException) e.getCause(), stackTrace);
+            }
+            throw new FedoraException(e.getCause());
+        }
+    }
 
-                // header processing
-                final Header[] etagHeader = response.getHeaders("ETag");
-                if (etagHeader != null && etagHeader.length > 0) {
-                    resource.setEtagValue( etagHeader[0].getValue() );
-                }
+    /**
+     * Copy the failure of a coalesced load for one of the callers waiting on it.  The failure is shared by all
+     * of them, and may be stackless, so each gets a new exception of the same type and message with the shared
+     * failure as its cause.
+    **/
+    private static FedoraException copyFailure( final FedoraException shared, final boolean stackTrace ) {
+        final String message = shared.getMessage();
+        final FedoraException copy;
+        if (shared instanceof NotFoundException) {
+            copy = new NotFoundException(message, shared, stackTrace);
+        } else if (shared instanceof ForbiddenException) {
+            copy = new ForbiddenException(message, shared);
+        } else if (shared instanceof BadRequestException) {
+            copy = new BadRequestException(message, shared);
+        } else if (shared instanceof AlreadyExistsException) {
+            copy = new AlreadyExistsException(message, shared);
+        } else if (shared instanceof ReadOnlyException) {
+            copy = new ReadOnlyException();
+            copy.initCause(shared);
+        } else {
+            copy = new FedoraException(message, shared);
+        }
+        return copy;
+    }
 
-                // StreamRdf
-                final HttpEntity entity = response.getEntity();
-                final Lang lang = RDFLanguages.contentTypeToLang(entity.getContentType().getValue().split(":")[0]);
-                final CollectorStreamTriples streamTriples = new CollectorStreamTriples();
-                RiotReader.parse(entity.getContent(), lang, uri, streamTriples);
-                resource.setGraph( RDFSinkFilter.filterTriples(streamTriples.getCollected().iterator(), Node.ANY) );
+    private FedoraResourceImpl fetchProperties( final FedoraResourceImpl resource, final String key,
+                                                final Lang lang, final boolean stackTrace )
+            throws FedoraException {
+        final PropertiesCache cache = propertiesCache;
+        final PropertiesCache.Entry cached = cache == null ? null : cache.get(key);
+        final HttpGet get = createPropertiesGetMethod(resource, lang, cached);
+
+        try {
+            final HttpResponse response = execute(get);
+            if ( readPropertiesResponse(resource, key, lang, get, response, cache, cached, stackTrace) ) {
                 return resource;
-            } else if (status.getStatusCode() == SC_FORBIDDEN) {
-                LOGGER.info("request for resource {} is not authorized.", uri);
-                throw new ForbiddenException("request for resource " + uri + " is not authorized.");
-            } else if (status.getStatusCode() == SC_BAD_REQUEST) {
-                LOGGER.info("server does not support metadata type application/rdf+xml for resource {} " +
-                                     " cannot retrieve", uri);
-                throw new BadRequestException("server does not support the request metadata type for resource " + uri);
-            } else if (status.getStatusCode() == SC_NOT_FOUND) {
-                LOGGER.info("resource {} does not exist, cannot retrieve", uri);
-                throw new NotFoundException("resource " + uri + " does not exist, cannot retrieve");
-            } else {
-                LOGGER.info("unexpected status code ({}) when retrieving resource {}", status.getStatusCode(), uri);
-                throw new FedoraException("error retrieving resource " + uri + ": " + status.getStatusCode() + " "
-                                          + status.getReasonPhrase());
             }
+            get.releaseConnection();
+            return fetchProperties(resource, key, RDFXML, stackTrace);
         } catch (final FedoraException e) {
             throw e;
         } catch (final Exception e) {
@@ -392,6 +665,293 @@ public class HttpHelper {
         }
     }
 
+    /**
+     * Retrieve RDF from the repository and update the properties of a resource without blocking the calling
+     * thread.  The request is made with the non-blocking client, and the response is parsed on the executor
+     * rather than on one of the client's I/O dispatch threads.  Loads are coalesced with concurrent loads of the
+     * same properties, made by either this method or loadProperties, and revalidate cached properties and fall
+     * back to RDF/XML the same way.
+     * @param resource The resource to update
+     * @param asyncClient non-blocking client used to execute the request
+     * @param executor executor responses are read on
+     * @return future of the updated resource, completed exceptionally with a FedoraException if the load failed
+    **/
+    public CompletableFuture<FedoraResourceImpl> loadProperties( final FedoraResourceImpl resource,
+                                                                 final HttpAsyncClient asyncClient,
+                                                                 final Executor executor ) {
+        final String key = getRequestKey(resource);
+        final CompletableFuture<PropertiesCache.Entry> flight = new CompletableFuture<>();
+        final CompletableFuture<PropertiesCache.Entry> leader = propertiesLoads.putIfAbsent(key, flight);
+        final CompletableFuture<FedoraResourceImpl> loaded = new CompletableFuture<>();
+        if (leader != null) {
+            LOGGER.debug("Joining concurrent load of {}", key);
+            leader.whenCompleteAsync(new BiConsumer<PropertiesCache.Entry, Throwable>() {
+                @Override
+                public void accept(final PropertiesCache.Entry entry, final Throwable failure) {
+                    if (failure != null) {
+                        final Throwable cause = unwrap(failure);
+                        loaded.completeExceptionally(cause instanceof FedoraException
+                                ? copyFailure((FedoraException) cause, true) : new FedoraException(cause));
+                        return;
+                    }
+                    resource.setEtagValue(entry.getEtag());
+                    resource.setGraph(entry.getGraph());
+                    loaded.complete(resource);
+                }
+            }, executor);
+            return loaded;
+        }
+
+        fetchProperties(resource, key, propertiesLang, asyncClient, executor)
+                .whenComplete(new BiConsumer<FedoraResourceImpl, Throwable>() {
+                    @Override
+                    public void accept(final FedoraResourceImpl fetched, final Throwable failure) {
+                        Throwable error = failure == null ? null : unwrap(failure);
+                        PropertiesCache.Entry entry = null;
+                        if (error == null) {
+                            try {
+                                entry = new PropertiesCache.Entry(fetched.getEtagValue(), fetched.getGraph());
+                            } catch (final FedoraException e) {
+                                error = e;
+                            }
+                        }
+                        propertiesLoads.remove(key, flight);
+                        if (error == null) {
+                            flight.complete(entry);
+                            loaded.complete(fetched);
+                        } else {
+                            flight.completeExceptionally(error);
+                            loaded.completeExceptionally(error);
+                        }
+                    }
+                });
+        return loaded;
+    }
+
+    private CompletableFuture<FedoraResourceImpl> fetchProperties( final FedoraResourceImpl resource,
+                                                                   final String key, final Lang lang,
+                                                                   final HttpAsyncClient asyncClient,
+                                                                   final Executor executor ) {
+        final PropertiesCache cache = propertiesCache;
+        final PropertiesCache.Entry cached = cache == null ? null : cache.get(key);
+        final HttpGet get = createPropertiesGetMethod(resource, lang, cached);
+
+        return execute(get, asyncClient).thenComposeAsync(
+                new Function<HttpResponse, CompletionStage<FedoraResourceImpl>>() {
+                    @Override
+                    public CompletionStage<FedoraResourceImpl> apply(final HttpResponse response) {
+                        try {
+                            if ( readPropertiesResponse(resource, key, lang, get, response, cache, cached, true) ) {
+                                return CompletableFuture.completedFuture(resource);
+                            }
+                            return fetchProperties(resource, key, RDFXML, asyncClient, executor);
+                        } catch (final FedoraException e) {
+                            throw new CompletionException(e);
+                        } catch (final Exception e) {
+                            LOGGER.info("Error reading properties of {}: {}", get.getURI(), e.getMessage());
+                            throw new CompletionException(new FedoraException(e));
+                        }
+                    }
+                }, executor);
+    }
+
+    /**
+     * Update a resource from the response to a properties request, or from its cached properties if they were
+     * not modified.
+     * @return false if the repository rejected the requested serialization, and the request should be retried
+     *         with RDF/XML
+    **/
+    private boolean readPropertiesResponse( final FedoraResourceImpl resource, final String key, final Lang lang,
+                                            final HttpGet get, final HttpResponse response,
+                                            final PropertiesCache cache, final PropertiesCache.Entry cached,
+                                            final boolean stackTrace ) throws FedoraException, IOException {
+        final int statusCode = response.getStatusLine().getStatusCode();
+        if ( cached != null && statusCode == SC_NOT_MODIFIED ) {
+            LOGGER.debug("Properties for resource {} not modified", get.getURI());
+            cache.hit();
+            resource.setEtagValue(cached.getEtag());
+            resource.setGraph(cached.getGraph());
+            return true;
+        }
+        if ( lang != RDFXML && (statusCode == SC_NOT_ACCEPTABLE || statusCode == SC_BAD_REQUEST) ) {
+            // a 400 may be caused by the request itself, so only a 406 changes the serialization used for
+            // later requests, and never one set explicitly
+            LOGGER.info("server rejected metadata type {} ({}), retrying with {}",
+                        lang.getHeaderString(), statusCode, RDFXML.getHeaderString());
+            if ( statusCode == SC_NOT_ACCEPTABLE && !propertiesLangExplicit ) {
+                propertiesLang = RDFXML;
+            }
+            return false;
+        }
+        readProperties(resource, get, response, stackTrace);
+        final Header etag = response.getFirstHeader("ETag");
+        if ( cache != null && etag != null ) {
+            cache.put(key, etag.getValue(), resource.getGraph());
+        }
+        return true;
+    }
+
+    /**
+     * Get the failure a stage completed with, rather than the CompletionException wrapping it.
+    **/
+    private static Throwable unwrap( final Throwable failure ) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    /**
+     * Properties requests are identified by URI, Prefer profile and projection, all of which change the graph.
+     * The URI includes the transaction of transaction-scoped paths.
+    **/
+    private String getRequestKey( final FedoraResourceImpl resource ) {
+        return repositoryURL + resource.getPropertiesPath() + " " + getPreferProfile(resource) + " "
+                + Arrays.toString(resource.getProjection());
+    }
+
+    /**
+     * Create a GET method to retrieve the RDF properties of a resource
+     * @param resource The resource whose properties will be retrieved
+     * @return GET method
+    **/
+    public HttpGet createPropertiesGetMethod( final FedoraResourceImpl resource ) {
+        return createPropertiesGetMethod(resource, propertiesLang, null);
+    }
+
+    private HttpGet createPropertiesGetMethod( final FedoraResourceImpl resource, final Lang lang,
+                                               final PropertiesCache.Entry cached ) {
+        final HttpGet get = createGetMethod(resource.getPropertiesPath(), null);
+        final PreferProfile profile = getPreferProfile(resource);
+        if (profile != null) {
+            get.addHeader("Prefer", profile.getHeaderValue());
+        }
+        get.setHeader("accept", lang.getHeaderString());
+        if (cached != null) {
+            get.setHeader("If-None-Match", cached.getEtag());
+        }
+        return get;
+    }
+
+    /**
+     * Get the Prefer profile to request for the properties of a resource.  Objects default to embedding their
+     * children, unless the projection of the object drops containment triples anyway; Datastreams default to
+     * no Prefer header.
+    **/
+    private static PreferProfile getPreferProfile( final FedoraResourceImpl resource ) {
+        if (resource.getPreferProfile() != null) {
+            return resource.getPreferProfile();
+        } else if (!(resource instanceof FedoraObject)) {
+            return null;
+        } else if (resource.isProjected() && !Arrays.asList(resource.getProjection()).contains(CONTAINS.asNode())) {
+            return NO_CONTAINMENT;
+        }
+        return WITH_EMBEDDED;
+    }
+
+    /**
+     * Get the cache used to make conditional requests for properties.
+     * @return properties cache, or null if properties are not cached
+    **/
+    public PropertiesCache getPropertiesCache() {
+        return propertiesCache;
+    }
+
+    /**
+     * Set the cache used to make conditional requests for properties.
+     * @param propertiesCache properties cache, or null to always download properties
+    **/
+    public void setPropertiesCache( final PropertiesCache propertiesCache ) {
+        this.propertiesCache = propertiesCache;
+    }
+
+    /**
+     * Get the cache of which paths exist in the repository.
+     * @return existence cache, or null if existence is not cached
+    **/
+    public ExistenceCache getExistenceCache() {
+        return existenceCache;
+    }
+
+    /**
+     * Set the cache of which paths exist in the repository.
+     * @param existenceCache existence cache, or null to always check existence with the repository
+    **/
+    public void setExistenceCache( final ExistenceCache existenceCache ) {
+        this.existenceCache = existenceCache;
+    }
+
+    /**
+     * Get the RDF serialization requested when loading properties.
+     * @return RDF serialization
+    **/
+    public Lang getPropertiesLang() {
+        return propertiesLang;
+    }
+
+    /**
+     * Set the RDF serialization requested when loading properties.  N-Triples, the default, is the fastest to
+     * parse.  If the repository rejects the requested serialization, that request is retried with RDF/XML; when
+     * the default was not overridden here and the repository responds 406 Not Acceptable, RDF/XML is also used
+     * for later requests.
+     * @param propertiesLang RDF serialization
+    **/
+    public void setPropertiesLang( final Lang propertiesLang ) {
+        this.propertiesLang = propertiesLang;
+        this.propertiesLangExplicit = true;
+    }
+
+    /**
+     * Update the properties of a resource from the response to a properties request
+     * @param resource The resource to update
+     * @param get The request created by createPropertiesGetMethod
+     * @param response The response to the request
+     * @return the updated resource
+     * @throws FedoraException
+     * @throws IOException
+    **/
+    public FedoraResourceImpl readProperties( final FedoraResourceImpl resource, final HttpUriRequest get,
+                                              final HttpResponse response ) throws FedoraException, IOException {
+        return readProperties(resource, get, response, true);
+    }
+
+    private FedoraResourceImpl readProperties( final FedoraResourceImpl resource, final HttpUriRequest get,
+                                               final HttpResponse response, final boolean stackTrace )
+            throws FedoraException, IOException {
+        final String uri = get.getURI().toString();
+        final StatusLine status = response.getStatusLine();
+
+        if (status.getStatusCode() == SC_OK) {
+            LOGGER.debug("Updated properties for resource {}", uri);
+
+            // header processing
+            final Header[] etagHeader = response.getHeaders("ETag");
+            if (etagHeader != null && etagHeader.length > 0) {
+                resource.setEtagValue( etagHeader[0].getValue() );
+            }
+
+            // parse the response stream straight into the resource graph
+            final HttpEntity entity = response.getEntity();
+            final Lang lang = RDFLanguages.contentTypeToLang(entity.getContentType().getValue().split(";")[0].trim());
+            try (final InputStream content = entity.getContent()) {
+                resource.setGraph( RDFSinkFilter.filterTriples(content, lang, uri, nodeInterner, null,
+                        resource.getProjection()) );
+            }
+            return resource;
+        } else if (status.getStatusCode() == SC_FORBIDDEN) {
+            LOGGER.info("request for resource {} is not authorized.", uri);
+            throw new ForbiddenException("request for resource " + uri + " is not authorized.");
+        } else if (status.getStatusCode() == SC_BAD_REQUEST) {
+            LOGGER.info("server does not support metadata type {} for resource {} " +
+                                 " cannot retrieve", get.getFirstHeader("accept").getValue(), uri);
+            throw new BadRequestException("server does not support the request metadata type for resource " + uri);
+        } else if (status.getStatusCode() == SC_NOT_FOUND) {
+            LOGGER.info("resource {} does not exist, cannot retrieve", uri);
+            throw new NotFoundException("resource " + uri + " does not exist, cannot retrieve", null, stackTrace);
+        } else {
+            LOGGER.info("unexpected status code ({}) when retrieving resource {}", status.getStatusCode(), uri);
+            throw new FedoraException("error retrieving resource " + uri + ": " + status.getStatusCode() + " "
+                                      + status.getReasonPhrase());
+        }
+    }
+
     /**
      * Create COPY method
      * @param sourcePath Source path, relative to repository baseURL
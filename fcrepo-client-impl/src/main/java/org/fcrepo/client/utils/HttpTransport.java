@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import java.io.IOException;
+
+/**
+ * Transport used by HttpHelper to send repository requests.  Every request made by HttpHelper and the resources
+ * using it goes through a single transport, so a different HTTP implementation can be used by implementing this
+ * interface.  Requests and responses use their own types rather than those of any HTTP client, and credentials
+ * are the responsibility of the transport.
+ *
+ * @author agent
+ * @since 2026-10-17
+**/
+public interface HttpTransport {
+
+    /**
+     * Execute a request and return its response.  The response body stays open until it is read to the end or
+     * closed, or the response is aborted.
+     * @param request The request to execute
+     * @return the response to the request
+     * @throws IOException if the request could not be executed
+    **/
+    public TransportResponse execute( TransportRequest request ) throws IOException;
+
+    /**
+     * Get statistics for the connection pool of this transport.
+     * @return pool statistics, or null if the transport does not manage a pool
+    **/
+    public ConnectionPoolStats getPoolStats();
+
+    /**
+     * Release the connections and threads owned by this transport.
+    **/
+    public void close();
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableSet;
+import static org.fcrepo.kernel.api.RdfLexicon.HAS_MIME_TYPE;
+import static org.fcrepo.kernel.api.RdfLexicon.HAS_MIXIN_TYPE;
+import static org.fcrepo.kernel.api.RdfLexicon.HAS_PRIMARY_TYPE;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.vocabulary.RDF;
+
+/**
+ * Canonical instances of the nodes that recur across many resources: predicates, and the values of a few
+ * predicates with a small set of possible values, such as rdf:type, mixins and MIME types.  Resources parsed
+ * through the same interner share one instance of each of these nodes instead of holding a copy per triple.
+ * Subjects and the values of other predicates, such as identifiers, dates and digests, usually belong to a single
+ * resource and are left alone, so they cannot fill the interner.  The number of interned nodes is bounded; once
+ * the limit is reached, nodes that have not been seen before are returned as they are.
+ *
+ * @author agent
+ * @since 2026-10-16
+**/
+public class NodeInterner {
+
+    /**
+     * Default maximum number of interned nodes.
+    **/
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    /**
+     * Default maximum length of an interned literal.
+    **/
+    public static final int DEFAULT_MAX_LITERAL_LENGTH = 64;
+
+    /**
+     * Default predicates whose values are interned.
+    **/
+    public static final Set<Node> DEFAULT_SHARED_PREDICATES = unmodifiableSet(new HashSet<>(asList(
+            RDF.type.asNode(), HAS_MIXIN_TYPE.asNode(), HAS_PRIMARY_TYPE.asNode(), HAS_MIME_TYPE.asNode())));
+
+    private final ConcurrentMap<Node, Node> nodes = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final int maxLiteralLength;
+    private final Set<Node> sharedPredicates;
+
+    /**
+     * Create an interner with the default limits.
+    **/
+    public NodeInterner() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LITERAL_LENGTH);
+    }
+
+    /**
+     * Create an interner of the values of the default shared predicates.
+     * @param capacity Maximum number of interned nodes
+     * @param maxLiteralLength Maximum length of the lexical form of an interned literal
+    **/
+    public NodeInterner(final int capacity, final int maxLiteralLength) {
+        this(capacity, maxLiteralLength, DEFAULT_SHARED_PREDICATES);
+    }
+
+    /**
+     * Create an interner.
+     * @param capacity Maximum number of interned nodes
+     * @param maxLiteralLength Maximum length of the lexical form of an interned literal
+     * @param sharedPredicates Predicates with few distinct values, whose values are interned
+    **/
+    public NodeInterner(final int capacity, final int maxLiteralLength, final Collection<Node> sharedPredicates) {
+        this.capacity = capacity;
+        this.maxLiteralLength = maxLiteralLength;
+        this.sharedPredicates = new HashSet<>(sharedPredicates);
+    }
+
+    /**
+     * Get the canonical instance of a URI node.  Literals, blank nodes and variables are returned as they are;
+     * literals are only interned as the values of shared predicates.
+     * @param node The node
+     * @return the interned node equal to the argument, or the argument itself if it is not interned
+    **/
+    public Node intern(final Node node) {
+        return node.isURI() ? share(node) : node;
+    }
+
+    private Node share(final Node node) {
+        final Node interned = nodes.get(node);
+        if (interned != null) {
+            return interned;
+        } else if (nodes.size() >= capacity) {
+            return node;
+        }
+        final Node existing = nodes.putIfAbsent(node, node);
+        return existing == null ? node : existing;
+    }
+
+    /**
+     * Intern the shared parts of a triple: the predicate, and the object if it is the value of a shared
+     * predicate and is a URI or a short literal.
+     * @param triple The triple
+     * @return a triple equal to the argument, using interned nodes
+    **/
+    public Triple intern(final Triple triple) {
+        final Node predicate = intern(triple.getPredicate());
+        final Node object = sharedPredicates.contains(predicate) ? internValue(triple.getObject())
+                : triple.getObject();
+        if (predicate == triple.getPredicate() && object == triple.getObject()) {
+            return triple;
+        }
+        return Triple.create(triple.getSubject(), predicate, object);
+    }
+
+    private Node internValue(final Node value) {
+        if (value.isURI() || (value.isLiteral() && value.getLiteralLexicalForm().length() <= maxLiteralLength)) {
+            return share(value);
+        }
+        return value;
+    }
+
+    /**
+     * Get the number of interned nodes.
+     * @return number of interned nodes
+    **/
+    public int size() {
+        return nodes.size();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hp.hpl.jena.graph.Graph;
+
+/**
+ * Least-recently-used cache of loaded properties graphs and their ETags, used by HttpHelper to make
+ * conditional requests and reuse the cached graph when the repository answers 304 Not Modified.  Graphs are
+ * stored as the read-only graphs set on resources, so an entry can be shared by any number of resources.
+ *
+ * @author agent
+ * @since 2026-10-16
+**/
+public class PropertiesCache {
+
+    private final Map<String, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    /**
+     * Create a cache.
+     * @param maxEntries Maximum number of graphs to keep
+    **/
+    public PropertiesCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the cached properties for a request, counting a miss if there are none.
+     * @param key The cache key of the request
+     * @return the cached entry, or null if there is none
+    **/
+    public Entry get(final String key) {
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+        } else {
+            revalidations.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Cache the properties returned for a request.
+     * @param key The cache key of the request
+     * @param etag The ETag of the properties
+     * @param graph The properties graph
+    **/
+    public void put(final String key, final String etag, final Graph graph) {
+        synchronized (entries) {
+            entries.put(key, new Entry(etag, graph));
+        }
+    }
+
+    /**
+     * Record that a cached entry was reused because the repository reported it was not modified.
+    **/
+    public void hit() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Remove the cached properties for a request.
+     * @param key The cache key of the request
+    **/
+    public void remove(final String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Get the number of cached entries.
+     * @return number of entries
+    **/
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Get the number of requests answered from the cache after revalidation.
+     * @return number of hits
+    **/
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of requests for properties that were not cached.
+     * @return number of misses
+    **/
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of conditional requests made to revalidate cached properties.
+     * @return number of revalidations
+    **/
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    /**
+     * Cached properties graph and its ETag.
+    **/
+    public static class Entry {
+        private final String etag;
+        private final Graph graph;
+
+        Entry(final String etag, final Graph graph) {
+            this.etag = etag;
+            this.graph = graph;
+        }
+
+        /**
+         * Get the ETag of the cached properties.
+         * @return ETag
+        **/
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * Get the cached properties graph.
+         * @return properties graph
+        **/
+        public Graph getGraph() {
+            return graph;
+        }
+    }
+}
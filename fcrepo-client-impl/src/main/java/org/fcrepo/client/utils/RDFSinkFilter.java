@@ -15,15 +15,25 @@
  */
 package org.fcrepo.client.utils;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.jena.atlas.lib.Sink;
-import org.apache.jena.riot.lang.SinkTriplesToGraph;
+import org.apache.jena.atlas.lib.SinkToCollection;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.system.StreamRDFBase;
 
 import com.hp.hpl.jena.graph.Graph;
 import com.hp.hpl.jena.graph.Node;
 import com.hp.hpl.jena.graph.Triple;
-import com.hp.hpl.jena.shared.RandomOrderGraph;
 
 /**
  * class RDFSinkFilter filtering StreamRDF to Sink.
@@ -31,26 +41,74 @@ import com.hp.hpl.jena.shared.RandomOrderGraph;
  * @since 2014-08-13
 **/
 public class RDFSinkFilter extends StreamRDFBase {
-    // properties to filter
-    private final Node[] properties ;
+    // properties to filter, or null to accept any property
+    private final Set<Node> properties ;
+    // subjects to filter, or null to accept any subject
+    private final Set<Node> subjects ;
     // destination to send the triples filtered.
     private final Sink<Triple> dest ;
+    // shared nodes, or null to keep the parsed nodes
+    private final NodeInterner interner ;
+    // nodes not shared with other resources, only reused within this document
+    private final Map<Node, Node> documentNodes = new HashMap<>();
 
-    private RDFSinkFilter(final Sink<Triple> dest, final Node... properties) {
+    private RDFSinkFilter(final Sink<Triple> dest, final NodeInterner interner, final Collection<Node> subjects,
+                          final Node... properties) {
         this.dest = dest ;
-        this.properties = new Node[properties.length];
-        for ( int i = 0; i < properties.length; i++) {
-            this.properties[i] = properties[i];
+        this.interner = interner ;
+        this.subjects = acceptedNodes(subjects);
+        this.properties = acceptedNodes(Arrays.asList(properties));
+    }
+
+    private static Set<Node> acceptedNodes(final Collection<Node> nodes) {
+        if ( nodes == null || nodes.contains(Node.ANY) ) {
+            return null;
         }
+        return new HashSet<>(nodes);
+    }
+
+    /**
+     * Create a filter, for use as a projection stage of a parse, that sends each triple with one of the
+     * subjects and one of the properties to a sink.  Each matching triple is sent once.
+     * @param dest Destination of the filtered triples
+     * @param interner Interner for nodes shared between documents, or null to keep the parsed nodes
+     * @param subjects Subjects to include, or null to include any subject
+     * @param properties Properties to include; Node.ANY includes any property
+     * @return filter
+     */
+    public static RDFSinkFilter create(final Sink<Triple> dest, final NodeInterner interner,
+                                       final Collection<Node> subjects, final Node... properties) {
+        return new RDFSinkFilter(dest, interner, subjects, properties);
     }
 
     @Override
     public void triple(final Triple triple) {
-        for ( final Node p : properties ) {
-            if ( Node.ANY == p || triple.getPredicate().equals(p) ) {
-                dest.send(triple);
-            }
+        if ( (properties == null || properties.contains(triple.getPredicate()))
+                && (subjects == null || subjects.contains(triple.getSubject())) ) {
+            dest.send(interner == null ? triple : intern(triple));
+        }
+    }
+
+    private Triple intern(final Triple triple) {
+        final Triple shared = interner.intern(triple);
+        final Node subject = documentNode(shared.getSubject());
+        final Node object = documentNode(shared.getObject());
+        if (subject == shared.getSubject() && object == shared.getObject()) {
+            return shared;
         }
+        return Triple.create(subject, shared.getPredicate(), object);
+    }
+
+    private Node documentNode(final Node node) {
+        if (!node.isURI()) {
+            return node;
+        }
+        final Node existing = documentNodes.get(node);
+        if (existing != null) {
+            return existing;
+        }
+        documentNodes.put(node, node);
+        return node;
     }
 
     @Override
@@ -63,20 +121,60 @@ public class RDFSinkFilter extends StreamRDFBase {
      * Filter the triples
      * @param triples Iterator of triples
      * @param properties Properties to include
-     * @return Graph containing the fitlered triples
+     * @return read-only Graph containing the filtered triples
      */
     public static Graph filterTriples (
             final Iterator<Triple> triples,
             final Node... properties) {
-        final Graph filteredGraph = new RandomOrderGraph(RandomOrderGraph.createDefaultGraph());
-        final Sink<Triple> graphOutput = new SinkTriplesToGraph(true, filteredGraph);
-        final RDFSinkFilter rdfFilter = new RDFSinkFilter(graphOutput, properties);
+        final List<Triple> filtered = new ArrayList<>();
+        final RDFSinkFilter rdfFilter = new RDFSinkFilter(new SinkToCollection<>(filtered), null, null, properties);
         rdfFilter.start();
         while (triples.hasNext()) {
             final Triple triple = triples.next();
             rdfFilter.triple(triple);
         }
         rdfFilter.finish();
-        return filteredGraph;
+        return CompactGraph.copyOf(filtered);
+    }
+
+    /**
+     * Parse RDF and filter the triples as they are parsed, without collecting the unfiltered triples first
+     * @param in Stream of serialized RDF
+     * @param lang Serialization of the RDF
+     * @param baseURI Base URI for resolving relative URIs
+     * @param properties Properties to include
+     * @return read-only Graph containing the filtered triples
+     */
+    public static Graph filterTriples (
+            final InputStream in,
+            final Lang lang,
+            final String baseURI,
+            final Node... properties) {
+        return filterTriples(in, lang, baseURI, null, null, properties);
+    }
+
+    /**
+     * Parse RDF and filter the triples as they are parsed, replacing shared nodes with their interned instances.
+     * URI nodes that are not interned are still reused within the document, so the subject of a resource is
+     * only held once.
+     * @param in Stream of serialized RDF
+     * @param lang Serialization of the RDF
+     * @param baseURI Base URI for resolving relative URIs
+     * @param interner Interner for nodes shared between documents, or null to keep the parsed nodes
+     * @param subjects Subjects to include, or null to include any subject
+     * @param properties Properties to include
+     * @return read-only Graph containing the filtered triples
+     */
+    public static Graph filterTriples (
+            final InputStream in,
+            final Lang lang,
+            final String baseURI,
+            final NodeInterner interner,
+            final Collection<Node> subjects,
+            final Node... properties) {
+        final List<Triple> filtered = new ArrayList<>();
+        RDFDataMgr.parse(new RDFSinkFilter(new SinkToCollection<>(filtered), interner, subjects, properties),
+                in, baseURI, lang);
+        return CompactGraph.copyOf(filtered);
     }
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import static org.apache.http.HttpStatus.SC_OK;
+import static org.apache.http.HttpStatus.SC_PARTIAL_CONTENT;
+import static org.apache.http.HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpGet;
+import org.fcrepo.client.ReadOnlyException;
+import org.slf4j.Logger;
+
+/**
+ * Read-only channel over the content of a datastream, which reads the content in fixed-size blocks using HTTP
+ * Range requests.  Recently read blocks are kept in a small least-recently-used cache, and a read of the block
+ * after the last one read also fetches the following blocks in the same request, so random reads only transfer
+ * the blocks they touch while sequential reads still make few requests.  Reads are serialized, so the channel
+ * can be shared by multiple threads.
+ *
+ * @author agent
+ * @since 2026-10-16
+**/
+public class RangeByteChannel implements SeekableByteChannel {
+
+    private static final Logger LOGGER = getLogger(RangeByteChannel.class);
+
+    /** Default size of the blocks read from the repository. */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    /** Default number of blocks kept in the cache. */
+    public static final int DEFAULT_CACHED_BLOCKS = 16;
+
+    /** Default number of blocks fetched ahead of a sequential read. */
+    public static final int DEFAULT_READ_AHEAD = 4;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final HttpHelper httpHelper;
+    private final String path;
+    private final int blockSize;
+    private final int readAhead;
+    private final Map<Long, byte[]> blocks;
+
+    private long size;
+    private long position;
+    private long lastBlock = -2;
+    private boolean open = true;
+
+    /**
+     * Create a channel with the default block size, cache size and read-ahead.
+     * @param httpHelper HTTP helper for making repository requests
+     * @param path Path of the datastream content, relative to the repository baseURL
+     * @param size Size of the content in bytes, or -1 if it is not known
+    **/
+    public RangeByteChannel(final HttpHelper httpHelper, final String path, final long size) {
+        this(httpHelper, path, size, DEFAULT_BLOCK_SIZE, DEFAULT_CACHED_BLOCKS, DEFAULT_READ_AHEAD);
+    }
+
+    /**
+     * Create a channel.
+     * @param httpHelper HTTP helper for making repository requests
+     * @param path Path of the datastream content, relative to the repository baseURL
+     * @param size Size of the content in bytes, or -1 if it is not known
+     * @param blockSize Size of the blocks read from the repository
+     * @param cachedBlocks Number of blocks kept in the cache, which must be more than readAhead
+     * @param readAhead Number of blocks fetched ahead of a sequential read
+    **/
+    public RangeByteChannel(final HttpHelper httpHelper, final String path, final long size,
+            final int blockSize, final int cachedBlocks, final int readAhead) {
+        if (blockSize <= 0 || readAhead < 0 || cachedBlocks <= readAhead) {
+            throw new IllegalArgumentException("block size must be positive and more blocks must be cached ("
+                    + cachedBlocks + ") than are read ahead (" + readAhead + ")");
+        }
+        this.httpHelper = httpHelper;
+        this.path = path;
+        this.size = size;
+        this.blockSize = blockSize;
+        this.readAhead = readAhead;
+        this.blocks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, byte[]> eldest) {
+                return size() > cachedBlocks;
+            }
+        };
+    }
+
+    @Override
+    public synchronized int read(final ByteBuffer dst) throws IOException {
+        checkOpen();
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && (size < 0 || position < size)) {
+            final long index = position / blockSize;
+            final byte[] block = getBlock(index);
+            final int offset = (int) (position - index * blockSize);
+            if (offset >= block.length) {
+                break;
+            }
+            final int length = Math.min(dst.remaining(), block.length - offset);
+            dst.put(block, offset, length);
+            position += length;
+            read += length;
+        }
+        return read > 0 ? read : -1;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        checkOpen();
+        return position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(final long newPosition) throws IOException {
+        checkOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("position must not be negative: " + newPosition);
+        }
+        position = newPosition;
+        return this;
+    }
+
+    /**
+     * Get the size of the content.  If it was not known, it is read from the response to the request for the
+     * first block, or failing that, by reading blocks until the end of the content.
+    **/
+    @Override
+    public synchronized long size() throws IOException {
+        checkOpen();
+        for (long index = 0; size < 0; index++) {
+            getBlock(index);
+        }
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(final long newSize) throws IOException {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public synchronized void close() {
+        open = false;
+        blocks.clear();
+    }
+
+    private void checkOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    /**
+     * Get a block from the cache, or fetch it from the repository.  A block shorter than the block size is the
+     * last block of the content, and a block past the end of the content is empty.
+    **/
+    private byte[] getBlock(final long index) throws IOException {
+        byte[] block = blocks.get(index);
+        if (block == null) {
+            fetchBlocks(index, index == lastBlock + 1 ? readAhead + 1 : 1);
+            block = blocks.get(index);
+        }
+        lastBlock = index;
+        return block == null ? EMPTY : block;
+    }
+
+    private void fetchBlocks(final long first, final int count) throws IOException {
+        final long start = first * blockSize;
+        long end = start + (long) count * blockSize - 1;
+        if (size >= 0) {
+            end = Math.min(end, size - 1);
+        }
+        if (end < start) {
+            return;
+        }
+
+        final HttpGet get = httpHelper.createGetMethod(path, null);
+        get.setHeader("Range", "bytes=" + start + "-" + end);
+        try {
+            final HttpResponse response = httpHelper.execute(get);
+            final StatusLine status = response.getStatusLine();
+            final long total = getTotalLength(response);
+            if (status.getStatusCode() == SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                LOGGER.debug("range {}-{} is past the end of {}", start, end, get.getURI());
+                size = total >= 0 ? total : start;
+                return;
+            } else if (status.getStatusCode() == SC_PARTIAL_CONTENT) {
+                if (total >= 0) {
+                    size = total;
+                }
+                final InputStream content = response.getEntity().getContent();
+                readBlocks(content, first, end);
+                content.close();
+            } else if (status.getStatusCode() == SC_OK) {
+                // the repository ignored the range: skip to it, and abort the rest of the response when the
+                // connection is released
+                LOGGER.debug("range requests not supported for {}", get.getURI());
+                final long length = response.getEntity().getContentLength();
+                if (length >= 0) {
+                    size = length;
+                }
+                final InputStream content = response.getEntity().getContent();
+                IOUtils.skipFully(content, start);
+                readBlocks(content, first, end);
+            } else {
+                LOGGER.error("error retrieving content of {}: {} {}", get.getURI(), status.getStatusCode(),
+                             status.getReasonPhrase());
+                throw new IOException("error retrieving content of " + get.getURI() + ": "
+                        + status.getStatusCode() + " " + status.getReasonPhrase());
+            }
+        } catch (final ReadOnlyException e) {
+            throw new IOException(e);
+        } finally {
+            get.releaseConnection();
+        }
+    }
+
+    private void readBlocks(final InputStream content, final long first, final long end) throws IOException {
+        for (long index = first; index * blockSize <= end; index++) {
+            final byte[] buffer = new byte[blockSize];
+            final int length = IOUtils.read(content, buffer);
+            blocks.put(index, length == blockSize ? buffer : Arrays.copyOf(buffer, length));
+            if (length < blockSize) {
+                if (size < 0) {
+                    size = index * blockSize + length;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the total length of the content from the Content-Range header of a response, or -1 if it is not given.
+    **/
+    private static long getTotalLength(final HttpResponse response) {
+        final Header contentRange = response.getFirstHeader("Content-Range");
+        if (contentRange == null) {
+            return -1;
+        }
+        final String value = contentRange.getValue();
+        final String total = value.substring(value.lastIndexOf('/') + 1).trim();
+        try {
+            return "*".equals(total) ? -1 : Long.parseLong(total);
+        } catch (final NumberFormatException e) {
+            LOGGER.debug("invalid Content-Range header: {}", value);
+            return -1;
+        }
+    }
+}
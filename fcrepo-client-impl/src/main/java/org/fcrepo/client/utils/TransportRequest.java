@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Request sent through an HttpTransport, independent of the HTTP client executing it.  Header names are case
+ * insensitive, and setters return the updated request so they can be chained.
+ *
+ * @author agent
+ * @since 2026-10-17
+**/
+public class TransportRequest {
+
+    private final String method;
+    private final URI uri;
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private InputStream body;
+    private long bodyLength = -1;
+
+    /**
+     * Create a request without headers or a body.
+     * @param method HTTP method, e.g. GET or PATCH
+     * @param uri URI of the requested resource
+    **/
+    public TransportRequest( final String method, final URI uri ) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    /**
+     * Get the HTTP method.
+     * @return the method name
+    **/
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the URI of the requested resource.
+     * @return the request URI
+    **/
+    public URI getURI() {
+        return uri;
+    }
+
+    /**
+     * Get the request headers, by name.  Content-Length is not included, see getBodyLength.
+     * @return header values by case insensitive name
+    **/
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Add a header value, keeping any values already set for the header.
+     * @param name header name
+     * @param value header value
+     * @return this request
+    **/
+    public TransportRequest addHeader( final String name, final String value ) {
+        List<String> values = headers.get( name );
+        if ( values == null ) {
+            values = new ArrayList<>( 1 );
+            headers.put( name, values );
+        }
+        values.add( value );
+        return this;
+    }
+
+    /**
+     * Get the request body.
+     * @return the body, or null if the request has none
+    **/
+    public InputStream getBody() {
+        return body;
+    }
+
+    /**
+     * Get the length of the request body.
+     * @return the body length in bytes, or -1 if unknown
+    **/
+    public long getBodyLength() {
+        return bodyLength;
+    }
+
+    /**
+     * Set the request body, which is read once when the request is sent.
+     * @param body the body content
+     * @param bodyLength the body length in bytes, or -1 if unknown
+     * @return this request
+    **/
+    public TransportRequest setBody( final InputStream body, final long bodyLength ) {
+        this.body = body;
+        this.bodyLength = bodyLength;
+        return this;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response received through an HttpTransport, independent of the HTTP client that executed the request.  The
+ * exchange ends when the body is read to the end or closed, or when the response is aborted.
+ *
+ * @author agent
+ * @since 2026-10-17
+**/
+public interface TransportResponse {
+
+    /**
+     * Get the status code.
+     * @return the HTTP status code
+    **/
+    public int getStatusCode();
+
+    /**
+     * Get the reason phrase of the status line.
+     * @return the reason phrase, or null if the server did not send one
+    **/
+    public String getReasonPhrase();
+
+    /**
+     * Get the response headers, by name.
+     * @return header values by case insensitive name
+    **/
+    public Map<String, List<String>> getHeaders();
+
+    /**
+     * Get the response body.  Closing the body reads any remaining content so the connection can be reused.
+     * @return the body, or null if the response has none
+     * @throws IOException if the body could not be opened
+    **/
+    public InputStream getBody() throws IOException;
+
+    /**
+     * Abort the exchange, discarding the connection instead of reading the rest of the body.  Has no effect once
+     * the body has been read to the end or closed.
+    **/
+    public void abort();
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.impl;
+
+import static org.apache.http.HttpStatus.SC_CONFLICT;
+import static org.apache.http.HttpStatus.SC_CREATED;
+import static org.apache.http.HttpStatus.SC_NOT_ACCEPTABLE;
+import static org.apache.http.HttpStatus.SC_NOT_FOUND;
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
+import static org.apache.http.HttpStatus.SC_NO_CONTENT;
+import static org.apache.http.HttpStatus.SC_OK;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.fcrepo.client.FedoraObject;
+import org.fcrepo.client.NotFoundException;
+import org.fcrepo.client.utils.ExistenceCache;
+import org.fcrepo.client.utils.PropertiesCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Async repository impl test.
+ *
+ * @author agent
+ * @since 2026-10-16
+ */
+public class AsyncFedoraRepositoryImplTest {
+
+    private AsyncFedoraRepositoryImpl repository;
+
+    @Mock
+    private HttpClient mockClient;
+
+    @Mock
+    private CloseableHttpAsyncClient mockAsyncClient;
+
+    private final Map<String, Deque<HttpResponse>> responses = new HashMap<>();
+
+    private final List<HttpUriRequest> requests = new CopyOnWriteArrayList<>();
+
+    private ExecutorService ioThread;
+
+    private ExecutorService readerThread;
+
+    private final String repositoryURL = "http://localhost:8080/rest";
+
+    private final String testContent = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"" +
+            " xmlns:fcrepo=\"http://fedora.info/definitions/v4/repository#\">" +
+            "<rdf:Description rdf:about=\"http://localhost:8080/rest/testObject\">" +
+            "<fcrepo:uuid>2fb9c440-db63-434f-929b-0ff29253205c</fcrepo:uuid>" +
+            "</rdf:Description>" +
+            "</rdf:RDF>";
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        ioThread = newSingleThreadExecutor(namedThread("io"));
+        readerThread = newSingleThreadExecutor(namedThread("reader"));
+        when(mockAsyncClient.isRunning()).thenReturn(true);
+        // responses are delivered on a thread of their own, as by the client's I/O dispatch threads
+        when(mockAsyncClient.execute(any(HttpUriRequest.class), any(HttpContext.class), any(FutureCallback.class)))
+                .thenAnswer(new Answer<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Object answer(final InvocationOnMock invocation) {
+                        final HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+                        final FutureCallback<HttpResponse> callback =
+                                (FutureCallback<HttpResponse>) invocation.getArguments()[2];
+                        requests.add(request);
+                        final Deque<HttpResponse> queued = responses.get(request.getMethod());
+                        final HttpResponse response = queued.size() > 1 ? queued.poll() : queued.peek();
+                        ioThread.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                callback.completed(response);
+                            }
+                        });
+                        return null;
+                    }
+                });
+        repository = new AsyncFedoraRepositoryImpl(repositoryURL, mockClient, mockAsyncClient);
+        repository.setExecutor(readerThread);
+    }
+
+    @After
+    public void tearDown() {
+        ioThread.shutdown();
+        readerThread.shutdown();
+    }
+
+    @Test
+    public void testExists() throws Exception {
+        respondWith("HEAD", response(SC_OK));
+        assertTrue(repository.exists("/testObject").get());
+    }
+
+    @Test
+    public void testExistsNonExistent() throws Exception {
+        respondWith("HEAD", response(SC_NOT_FOUND));
+        assertFalse(repository.exists("/testObject").get());
+    }
+
+    @Test
+    public void testGetObject() throws Exception {
+        respondWith("GET", rdfResponse());
+        final FedoraObject object = repository.getObject("/testObject").get();
+        assertEquals("/testObject", object.getPath());
+        assertTrue(object.getProperties().hasNext());
+    }
+
+    @Test
+    public void testGetObjectNotFound() throws Exception {
+        respondWith("GET", response(SC_NOT_FOUND));
+        try {
+            repository.getObject("/testObject").get();
+            fail("lookup of a missing object should fail");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof NotFoundException);
+        }
+    }
+
+    @Test
+    public void testCreateObject() throws Exception {
+        respondWith("PUT", response(SC_CREATED));
+        respondWith("GET", rdfResponse());
+        final FedoraObject object = repository.createObject("/testObject").get();
+        assertTrue(object.getProperties().hasNext());
+    }
+
+    @Test (expected = ExecutionException.class)
+    public void testCreateObjectConflict() throws Exception {
+        respondWith("PUT", response(SC_CONFLICT));
+        repository.createObject("/testObject").get();
+    }
+
+    @Test
+    public void testExistsCached() throws Exception {
+        repository.setExistenceCache(new ExistenceCache(60000, 10));
+        respondWith("HEAD", response(SC_NOT_FOUND));
+        assertFalse(repository.exists("/testObject").get());
+        assertFalse(repository.exists("/testObject").get());
+        verify(mockAsyncClient, times(1)).execute(any(HttpUriRequest.class), any(HttpContext.class),
+                any(FutureCallback.class));
+    }
+
+    @Test
+    public void testCreateObjectUpdatesExistenceCache() throws Exception {
+        repository.setExistenceCache(new ExistenceCache(60000, 10));
+        respondWith("HEAD", response(SC_NOT_FOUND));
+        respondWith("PUT", response(SC_CREATED));
+        respondWith("GET", rdfResponse());
+        assertFalse(repository.exists("/testObject").get());
+        repository.createObject("/testObject").get();
+
+        // the cached result is replaced by the create, without another HEAD request
+        assertTrue(repository.exists("/testObject").get());
+        final ArgumentCaptor<HttpUriRequest> requests = ArgumentCaptor.forClass(HttpUriRequest.class);
+        verify(mockAsyncClient, times(3)).execute(requests.capture(), any(HttpContext.class),
+                any(FutureCallback.class));
+        assertEquals("HEAD", requests.getAllValues().get(0).getMethod());
+        assertEquals("PUT", requests.getAllValues().get(1).getMethod());
+        assertEquals("GET", requests.getAllValues().get(2).getMethod());
+    }
+
+    @Test
+    public void testResponsesParsedOffIoThread() throws Exception {
+        final List<String> parsedOn = new CopyOnWriteArrayList<>();
+        final HttpResponse response = response(SC_OK);
+        final ByteArrayEntity entity = new ByteArrayEntity(testContent.getBytes()) {
+            @Override
+            public InputStream getContent() {
+                parsedOn.add(Thread.currentThread().getName());
+                return super.getContent();
+            }
+        };
+        entity.setContentType("application/rdf+xml");
+        response.setEntity(entity);
+        respondWith("GET", response);
+
+        assertTrue(repository.getObject("/testObject").get().getProperties().hasNext());
+        assertEquals(asList("reader"), parsedOn);
+    }
+
+    @Test
+    public void testGetObjectFallsBackToRdfXml() throws Exception {
+        respondWith("GET", response(SC_NOT_ACCEPTABLE));
+        respondWith("GET", rdfResponse());
+        assertTrue(repository.getObject("/testObject").get().getProperties().hasNext());
+        assertEquals(2, requests.size());
+        assertEquals("application/n-triples", requests.get(0).getFirstHeader("accept").getValue());
+        assertEquals("application/rdf+xml", requests.get(1).getFirstHeader("accept").getValue());
+    }
+
+    @Test
+    public void testGetObjectRevalidatesCachedProperties() throws Exception {
+        repository.setPropertiesCache(new PropertiesCache(10));
+        final HttpResponse first = rdfResponse();
+        first.setHeader("ETag", "W/\"abc\"");
+        respondWith("GET", first);
+        respondWith("GET", response(SC_NOT_MODIFIED));
+
+        assertTrue(repository.getObject("/testObject").get().getProperties().hasNext());
+        assertTrue(repository.getObject("/testObject").get().getProperties().hasNext());
+        assertEquals("W/\"abc\"", requests.get(1).getFirstHeader("If-None-Match").getValue());
+    }
+
+    @Test
+    public void testGetObjectCoalesced() throws Exception {
+        // hold the response until both loads have been requested
+        final CountDownLatch requested = new CountDownLatch(1);
+        ioThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    requested.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        respondWith("GET", rdfResponse());
+        final CompletableFuture<FedoraObject> first = repository.getObject("/testObject");
+        final CompletableFuture<FedoraObject> second = repository.getObject("/testObject");
+        requested.countDown();
+
+        assertTrue(first.get().getProperties().hasNext());
+        assertTrue(second.get().getProperties().hasNext());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void testCreateObjectInTransaction() throws Exception {
+        final String txId = "tx:123";
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenAnswer(
+                new Answer<HttpResponse>() {
+                    @Override
+                    public HttpResponse answer(final InvocationOnMock invocation) {
+                        final HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+                        if (request.getURI().toString().endsWith("fcr:rollback")) {
+                            return response(SC_NO_CONTENT);
+                        }
+                        final HttpResponse created = response(SC_CREATED);
+                        created.setHeader("Location", repositoryURL + "/" + txId);
+                        return created;
+                    }
+                });
+        final FedoraRepositoryImpl transactions = new FedoraRepositoryImpl(repositoryURL + "/", mockClient);
+        respondWith("PUT", response(SC_CREATED));
+        respondWith("GET", rdfResponse());
+
+        transactions.startTransaction();
+        try {
+            final FedoraObject object = repository.createObject("/testObject").get();
+            assertEquals("/" + txId + "/testObject", object.getPath());
+        } finally {
+            transactions.rollbackTransaction();
+        }
+        // the load after the create, made once the PUT completed, is still in the transaction
+        assertEquals(repositoryURL + "/" + txId + "/testObject", requests.get(0).getURI().toString());
+        assertEquals(repositoryURL + "/" + txId + "/testObject", requests.get(1).getURI().toString());
+    }
+
+    @Test
+    public void testClosePreconfiguredClient() throws IOException {
+        repository.close();
+        verify(mockAsyncClient, never()).close();
+    }
+
+    /**
+     * Respond to requests with a method.  Responses added for the same method are used in turn, and the last
+     * one is repeated.
+     */
+    private void respondWith(final String method, final HttpResponse response) {
+        if (!responses.containsKey(method)) {
+            responses.put(method, new ArrayDeque<HttpResponse>());
+        }
+        responses.get(method).add(response);
+    }
+
+    private static ThreadFactory namedThread(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                return new Thread(runnable, name);
+            }
+        };
+    }
+
+    private static HttpResponse response(final int statusCode) {
+        return new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+    }
+
+    private HttpResponse rdfResponse() {
+        final HttpResponse response = response(SC_OK);
+        final ByteArrayEntity entity = new ByteArrayEntity(testContent.getBytes());
+        entity.setContentType("application/rdf+xml");
+        response.setEntity(entity);
+        return response;
+    }
+}
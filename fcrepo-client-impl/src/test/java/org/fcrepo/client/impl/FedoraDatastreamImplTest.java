@@ -22,9 +22,12 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 import static org.fcrepo.kernel.api.RdfLexicon.CREATED_DATE;
 import static org.fcrepo.kernel.api.RdfLexicon.LAST_MODIFIED_DATE;
@@ -39,13 +42,21 @@ import static org.fcrepo.client.impl.FedoraDatastreamImpl.REST_API_DIGEST;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.IOException;
+import java.io.SequenceInputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.text.SimpleDateFormat;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -65,11 +76,15 @@ import org.apache.http.client.methods.HttpPut;
 import org.fcrepo.client.FedoraContent;
 import org.fcrepo.client.FedoraException;
 import org.fcrepo.client.FedoraObject;
+import org.fcrepo.client.NotFoundException;
 import org.fcrepo.client.utils.HttpHelper;
 import org.fcrepo.kernel.api.RdfLexicon;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 
 /**
@@ -79,6 +94,9 @@ import org.mockito.Mock;
  */
 public class FedoraDatastreamImplTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     FedoraRepositoryImpl mockRepository;
 
@@ -97,9 +115,6 @@ public class FedoraDatastreamImplTest {
 
     private boolean isWritable = true;
 
-    private static SimpleDateFormat dateFormat =
-            new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-
     private String testDateValue = "2014-08-14T15:11:30.118Z";
     private String testMixinType = RdfLexicon.REPOSITORY_NAMESPACE + "test";
     private String checksum = "urn:sha1:187ff331acaea139c8dc1eb77da8be32bd81ac7d";
@@ -142,7 +157,7 @@ public class FedoraDatastreamImplTest {
     @Test
     public void testGetCreatedDate() throws FedoraException {
         assertEquals("Created date is not the same",
-                testDateValue, dateFormat.format(datastream.getCreatedDate()));
+                testDateValue, datastream.getCreatedDate().toInstant().toString());
     }
 
     @Test
@@ -155,7 +170,7 @@ public class FedoraDatastreamImplTest {
     @Test
     public void testGetLastModifiedDate() throws FedoraException {
         assertEquals("LastModifiedDate is not the same",
-                testDateValue, dateFormat.format(datastream.getLastModifiedDate()));
+                testDateValue, datastream.getLastModifiedDate().toInstant().toString());
     }
 
     @Test
@@ -241,10 +256,140 @@ public class FedoraDatastreamImplTest {
         when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(mockContent.getBytes()));
 
         final InputStream contentStream = datastream.getContent();
+        verify(mockGet, never()).releaseConnection();
         final String content = IOUtils.toString(contentStream);
         assertEquals("Content doesn't match", mockContent, content);
     }
 
+    @Test
+    public void testGetContentChannel() throws IOException, URISyntaxException, FedoraException {
+        final String mockContent = "test datastream content";
+        final HttpGet mockGet = mockContentGet(mockContent);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final long transferred = datastream.getContent(Channels.newChannel(out));
+        assertEquals(mockContent.length(), transferred);
+        assertEquals("Content doesn't match", mockContent, out.toString());
+        verify(mockGet).releaseConnection();
+    }
+
+    @Test
+    public void testGetContentFile() throws IOException, URISyntaxException, FedoraException {
+        final String mockContent = "test datastream content";
+        final HttpGet mockGet = mockContentGet(mockContent);
+
+        final Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, "longer existing file content".getBytes());
+        final long transferred = datastream.getContent(file);
+        assertEquals(mockContent.length(), transferred);
+        assertEquals("Content doesn't match", mockContent, new String(Files.readAllBytes(file)));
+        verify(mockGet).releaseConnection();
+    }
+
+    @Test
+    public void testGetContentFileFailure() throws IOException, URISyntaxException, FedoraException {
+        final HttpGet mockGet = mockContentGet("");
+        final HttpResponse mockResponse = mockHelper.execute(mockGet);
+        when(mockResponse.getEntity().getContent()).thenReturn(new SequenceInputStream(
+                new ByteArrayInputStream("partial".getBytes()), new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                }));
+
+        final Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, "existing file content".getBytes());
+        try {
+            datastream.getContent(file);
+            fail("transfer should have failed");
+        } catch (final FedoraException e) {
+            // the existing file is left unchanged, and the partial download is removed
+            assertEquals("existing file content", new String(Files.readAllBytes(file)));
+            assertEquals(1, temporaryFolder.getRoot().list().length);
+        }
+        verify(mockGet).releaseConnection();
+    }
+
+    @Test
+    public void testGetContentChannelFailure() throws IOException, URISyntaxException, FedoraException {
+        final HttpGet mockGet = mockContentGet("");
+        final HttpResponse mockResponse = mockHelper.execute(mockGet);
+        final InputStream mockStream = mock(InputStream.class);
+        when(mockResponse.getEntity().getContent()).thenReturn(mockStream);
+        when(mockStream.read(any(byte[].class))).thenReturn(8);
+
+        final WritableByteChannel failing = mock(WritableByteChannel.class);
+        when(failing.write(any(ByteBuffer.class))).thenThrow(new IOException("disk full"));
+        try {
+            datastream.getContent(failing);
+            fail("transfer should have failed");
+        } catch (final FedoraException e) {
+            // the connection is aborted rather than drained by closing the content
+            final InOrder order = inOrder(mockGet);
+            order.verify(mockGet).abort();
+            order.verify(mockGet).releaseConnection();
+            verify(mockStream, never()).close();
+        }
+    }
+
+    @Test
+    public void testGetContentChannelDrainsOnSuccess() throws IOException, URISyntaxException, FedoraException {
+        final HttpGet mockGet = mockContentGet("");
+        final HttpResponse mockResponse = mockHelper.execute(mockGet);
+        final InputStream mockStream = mock(InputStream.class);
+        when(mockResponse.getEntity().getContent()).thenReturn(mockStream);
+        when(mockStream.read(any(byte[].class))).thenReturn(-1);
+
+        datastream.getContent(Channels.newChannel(new ByteArrayOutputStream()));
+        verify(mockStream).close();
+        verify(mockGet, never()).abort();
+        verify(mockGet).releaseConnection();
+    }
+
+    @Test
+    public void testGetContentFileChannel() throws IOException, URISyntaxException, FedoraException {
+        final String mockContent = "test datastream content";
+        mockContentGet(mockContent);
+
+        final Path file = temporaryFolder.newFile().toPath();
+        try (final FileChannel channel = FileChannel.open(file, WRITE)) {
+            channel.write(ByteBuffer.wrap("header:".getBytes()));
+            assertEquals(mockContent.length(), datastream.getContent(channel));
+            assertEquals("header:".length() + mockContent.length(), channel.position());
+        }
+        assertEquals("header:" + mockContent, new String(Files.readAllBytes(file)));
+    }
+
+    @Test (expected = NotFoundException.class)
+    public void testGetContentNotFound() throws IOException, URISyntaxException, FedoraException {
+        final HttpGet mockGet = mockContentGet("");
+        final HttpResponse mockResponse = mockHelper.execute(mockGet);
+        when(mockResponse.getStatusLine().getStatusCode()).thenReturn(404);
+        try {
+            datastream.getContent();
+        } finally {
+            verify(mockGet).releaseConnection();
+        }
+    }
+
+    private HttpGet mockContentGet(final String mockContent) throws IOException, URISyntaxException,
+            FedoraException {
+        final HttpGet mockGet = mock(HttpGet.class);
+        final HttpResponse mockResponse = mock(HttpResponse.class);
+        final StatusLine mockStatus = mock(StatusLine.class);
+        final HttpEntity mockEntity = mock(HttpEntity.class);
+
+        when(mockHelper.createGetMethod(anyString(), any(Map.class))).thenReturn(mockGet);
+        when(mockGet.getURI()).thenReturn(new URI(repositoryURL + path));
+        when(mockHelper.execute(any(HttpGet.class))).thenReturn(mockResponse);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatus);
+        when(mockStatus.getStatusCode()).thenReturn(200);
+        when(mockResponse.getEntity()).thenReturn(mockEntity);
+        when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(mockContent.getBytes()));
+        return mockGet;
+    }
+
     @Test
     public void testUpdateContent() throws IOException, URISyntaxException, FedoraException {
         final String newFilename = "test.png";
@@ -19,6 +19,10 @@ import static com.hp.hpl.jena.graph.Factory.createDefaultGraph;
 import static com.hp.hpl.jena.graph.NodeFactory.createLiteral;
 import static com.hp.hpl.jena.graph.NodeFactory.createURI;
 import static com.hp.hpl.jena.graph.Triple.create;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -27,13 +31,27 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static org.fcrepo.kernel.api.RdfLexicon.CONTAINS;
+import static org.fcrepo.kernel.api.RdfLexicon.DESCRIBES;
+import static org.fcrepo.kernel.api.RdfLexicon.HAS_MIME_TYPE;
 import static org.fcrepo.kernel.api.RdfLexicon.HAS_MIXIN_TYPE;
+import static org.fcrepo.kernel.api.RdfLexicon.HAS_ORIGINAL_NAME;
+import static org.fcrepo.kernel.api.RdfLexicon.HAS_SIZE;
+import static org.fcrepo.client.impl.FedoraDatastreamImpl.REST_API_DIGEST;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
 
 import com.hp.hpl.jena.graph.Graph;
 import com.hp.hpl.jena.graph.Node;
@@ -42,11 +60,15 @@ import org.fcrepo.client.FedoraDatastream;
 import org.fcrepo.client.FedoraException;
 import org.fcrepo.client.FedoraObject;
 import org.fcrepo.client.FedoraResource;
+import org.fcrepo.client.NotFoundException;
 import org.fcrepo.client.utils.HttpHelper;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Matchers;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 /**
  * Object Impl test.
@@ -84,10 +106,12 @@ public class FedoraObjectImplTest {
     private static String CONTAINER = "fedora:Container";
     private static String CUSTOM = "fedora:Custom";
     private static String BOGUS_MIXIN = "bogus:mixin";
+    private static String CHECKSUM = "urn:sha1:187ff331acaea139c8dc1eb77da8be32bd81ac7d";
 
     @Before
     public void setUp() throws FedoraException {
         initMocks(this);
+        when(mockRepository.getRepositoryUrl()).thenReturn(repositoryURL);
 
         objectWithChildren = new FedoraObjectImpl(mockRepository, mockHelper, objectPath);
         objectWithoutChildren = new FedoraObjectImpl(mockRepository, mockHelper, objectWithoutChildrenPath);
@@ -105,7 +129,6 @@ public class FedoraObjectImplTest {
         objectWithChildren.setGraph( graph );
         objectWithoutChildren.setGraph( createDefaultGraph() );
 
-        when(mockRepository.getRepositoryUrl()).thenReturn(repositoryURL);
         when(mockRepository.getObject(eq(objectPath))).thenReturn(objectWithChildren);
         when(mockRepository.getObject(eq(objectChildPath))).thenReturn(objectChild);
         when(mockRepository.getObject(eq(customChildPath))).thenReturn(customChild);
@@ -115,45 +138,64 @@ public class FedoraObjectImplTest {
     @Test
     public void testGetChildren() throws FedoraException {
         final Collection<FedoraResource> children = objectWithChildren.getChildren(null);
-        verify(mockRepository).getObject(objectChildPath);
-        verify(mockRepository).getObject(customChildPath);
-        verify(mockRepository).getDatastream(datastreamChildPath);
-        assertTrue( children.contains(objectChild) );
-        assertTrue( children.contains(customChild) );
-        assertTrue( children.contains(datastreamChild) );
+        verify(mockRepository, never()).getObject(anyString());
+        verify(mockRepository, never()).getDatastream(anyString());
+        assertEquals( paths(objectChildPath, customChildPath, datastreamChildPath), paths(children) );
+        for (final FedoraResource child : children) {
+            final boolean datastream = child.getPath().equals(datastreamChildPath);
+            assertEquals( datastream, child instanceof FedoraDatastream );
+            assertEquals( !datastream, ((FedoraResourceImpl) child).isLoaded() );
+        }
+    }
+
+    @Test
+    public void testGetChildrenProjected() throws FedoraException {
+        when(mockRepository.getObject(eq(objectChildPath), Matchers.<Node>anyVararg())).thenReturn(objectChild);
+        objectWithChildren.setProjection(CONTAINS.asNode());
+        final Collection<FedoraResource> children = objectWithChildren.getChildren(CONTAINER);
+        verify(mockRepository).getObject(eq(objectChildPath), Matchers.<Node>anyVararg());
+        assertEquals( asList(objectChild), new ArrayList<>(children) );
     }
 
     @Test
     public void testGetChildrenObjects() throws FedoraException {
         final Collection<FedoraResource> children = objectWithChildren.getChildren(CONTAINER);
-        verify(mockRepository).getObject(objectChildPath);
-        verify(mockRepository, never()).getObject(customChildPath);
-        verify(mockRepository, never()).getDatastream(datastreamChildPath);
-        assertTrue( children.contains(objectChild) );
-        assertFalse( children.contains(customChild) );
-        assertFalse( children.contains(datastreamChild) );
+        verify(mockRepository, never()).getObject(anyString());
+        verify(mockRepository, never()).getDatastream(anyString());
+        assertEquals( paths(objectChildPath), paths(children) );
+        assertEquals( CONTAINER, children.iterator().next().getMixins().iterator().next() );
     }
 
     @Test
     public void testGetChildrenCustom() throws FedoraException {
         final Collection<FedoraResource> children = objectWithChildren.getChildren(CUSTOM);
-        verify(mockRepository, never()).getObject(objectChildPath);
-        verify(mockRepository).getObject(customChildPath);
-        verify(mockRepository, never()).getDatastream(datastreamChildPath);
-        assertFalse( children.contains(objectChild) );
-        assertTrue( children.contains(customChild) );
-        assertFalse( children.contains(datastreamChild) );
+        verify(mockRepository, never()).getObject(anyString());
+        verify(mockRepository, never()).getDatastream(anyString());
+        assertEquals( paths(customChildPath), paths(children) );
     }
 
     @Test
     public void testGetChildrenDatastreams() throws FedoraException {
         final Collection<FedoraResource> children = objectWithChildren.getChildren(BINARY);
-        verify(mockRepository, never()).getObject(objectChildPath);
-        verify(mockRepository, never()).getObject(customChildPath);
-        verify(mockRepository).getDatastream(datastreamChildPath);
-        assertFalse( children.contains(objectChild) );
-        assertFalse( children.contains(customChild) );
-        assertTrue( children.contains(datastreamChild) );
+        verify(mockRepository, never()).getObject(anyString());
+        verify(mockRepository, never()).getDatastream(anyString());
+        assertEquals( paths(datastreamChildPath), paths(children) );
+        assertTrue( children.iterator().next() instanceof FedoraDatastream );
+        assertFalse( ((FedoraResourceImpl) children.iterator().next()).isLoaded() );
+
+        mockDatastreamMetadata();
+        assertDatastreamContent( (FedoraDatastream) children.iterator().next() );
+    }
+
+    @Test
+    public void testGetChildrenNotEmbedded() throws FedoraException {
+        objectWithChildren.setGraph( containmentGraph() );
+        final Collection<FedoraResource> children = objectWithChildren.getChildren(null);
+        verify(mockRepository).getObject(objectChildPath);
+        verify(mockRepository).getObject(customChildPath);
+        assertEquals( 2, children.size() );
+        assertTrue( children.contains(objectChild) );
+        assertTrue( children.contains(customChild) );
     }
 
     @Test
@@ -171,4 +213,188 @@ public class FedoraObjectImplTest {
         verify(mockRepository, never()).getDatastream(anyString());
         assertEquals( 0, children.size() );
     }
+
+    @Test
+    public void testGetChildrenParallel() throws Exception {
+        final String thirdChildPath = "/test/object/obj2";
+        final Graph graph = containmentGraph();
+        graph.add( create(objectSubj, CONTAINS.asNode(), createURI(repositoryURL + thirdChildPath)) );
+        objectWithChildren.setGraph( graph );
+
+        // each load blocks until all three children are being loaded at the same time
+        final CyclicBarrier barrier = new CyclicBarrier(3);
+        when(mockRepository.getObject(anyString())).thenAnswer(new Answer<FedoraObject>() {
+            @Override
+            public FedoraObject answer(final InvocationOnMock invocation) throws Exception {
+                barrier.await(10, SECONDS);
+                return new FedoraObjectImpl(mockRepository, mockHelper, (String) invocation.getArguments()[0]);
+            }
+        });
+
+        final ExecutorService executor = newFixedThreadPool(3);
+        try {
+            objectWithChildren.setChildExecutor(executor);
+            final Collection<FedoraResource> children = objectWithChildren.getChildren(null);
+            assertEquals( paths(objectChildPath, customChildPath, thirdChildPath), paths(children) );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test (expected = NotFoundException.class)
+    public void testGetChildrenParallelNotFound() throws Exception {
+        when(mockRepository.getObject(eq(customChildPath))).thenThrow(new NotFoundException("not found"));
+
+        final ExecutorService executor = newFixedThreadPool(3);
+        try {
+            objectWithChildren.setGraph( containmentGraph() );
+            objectWithChildren.setChildExecutor(executor);
+            objectWithChildren.getChildren(null);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetChildrenRepositoryExecutorShutDown() throws Exception {
+        final ExecutorService executor = newFixedThreadPool(3);
+        executor.shutdown();
+        when(mockRepository.getChildExecutor()).thenReturn(executor);
+
+        objectWithChildren.setGraph( containmentGraph() );
+        final Collection<FedoraResource> children = objectWithChildren.getChildren(null);
+        assertEquals( paths(objectChildPath, customChildPath), paths(children) );
+    }
+
+    @Test
+    public void testIterateChildrenRepositoryExecutorShutDown() throws Exception {
+        final ExecutorService executor = newFixedThreadPool(2);
+        when(mockRepository.getChildExecutor()).thenReturn(executor);
+
+        objectWithChildren.setGraph( containmentGraph() );
+        final Iterator<FedoraResource> it = objectWithChildren.iterateChildren(null, 1);
+        executor.shutdown();
+        it.next();
+        it.next();
+        assertFalse( it.hasNext() );
+    }
+
+    @Test
+    public void testGetChildPaths() throws FedoraException {
+        final Set<String> paths = new HashSet<>();
+        final Iterator<String> it = objectWithChildren.getChildPaths(null);
+        while (it.hasNext()) {
+            paths.add(it.next());
+        }
+        assertEquals( paths(objectChildPath, customChildPath, datastreamChildPath), paths );
+        assertFalse( objectWithChildren.getChildPaths(BOGUS_MIXIN).hasNext() );
+    }
+
+    @Test
+    public void testIterateChildren() throws FedoraException {
+        final List<FedoraResource> children = new ArrayList<>();
+        final Iterator<FedoraResource> it = objectWithChildren.iterateChildren(BINARY, 0);
+        while (it.hasNext()) {
+            children.add(it.next());
+        }
+        assertEquals( paths(datastreamChildPath), paths(children) );
+        assertTrue( children.get(0) instanceof FedoraDatastream );
+        assertFalse( ((FedoraResourceImpl) children.get(0)).isLoaded() );
+
+        mockDatastreamMetadata();
+        assertDatastreamContent( (FedoraDatastream) children.get(0) );
+    }
+
+    @Test
+    public void testIterateChildrenNotEmbedded() throws FedoraException {
+        objectWithChildren.setGraph( containmentGraph() );
+        final List<FedoraResource> children = new ArrayList<>();
+        final Iterator<FedoraResource> it = objectWithChildren.iterateChildren(null, 10);
+        while (it.hasNext()) {
+            children.add(it.next());
+        }
+        assertEquals( paths(objectChildPath, customChildPath), paths(children) );
+        for (final FedoraResource child : children) {
+            assertFalse( ((FedoraResourceImpl) child).isLoaded() );
+        }
+        verify(mockHelper, never()).loadProperties(any(FedoraResourceImpl.class));
+    }
+
+    @Test
+    public void testIterateChildrenPrefetch() throws Exception {
+        objectWithChildren.setGraph( containmentGraph() );
+        final CountDownLatch loads = new CountDownLatch(2);
+        when(mockHelper.loadProperties(any(FedoraResourceImpl.class))).thenAnswer(new Answer<FedoraResourceImpl>() {
+            @Override
+            public FedoraResourceImpl answer(final InvocationOnMock invocation) {
+                final FedoraResourceImpl resource = (FedoraResourceImpl) invocation.getArguments()[0];
+                resource.setGraph( createDefaultGraph() );
+                loads.countDown();
+                return resource;
+            }
+        });
+
+        final ExecutorService executor = newFixedThreadPool(2);
+        try {
+            objectWithChildren.setChildExecutor(executor);
+            final Iterator<FedoraResource> it = objectWithChildren.iterateChildren(null, 1);
+
+            // taking the first child also starts loading the next one
+            it.next();
+            assertTrue( loads.await(10, SECONDS) );
+            it.next();
+            assertFalse( it.hasNext() );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Load the datastream child's properties as fcr:metadata would return them, with its content properties.
+     */
+    private void mockDatastreamMetadata() throws FedoraException {
+        final Node contentSubj = createURI(repositoryURL + objectPath);
+        final Graph graph = createDefaultGraph();
+        graph.add( create(datastreamChildSubj, HAS_MIXIN_TYPE.asNode(), createLiteral(BINARY)) );
+        graph.add( create(datastreamChildSubj, DESCRIBES.asNode(), contentSubj) );
+        graph.add( create(contentSubj, HAS_SIZE.asNode(), createLiteral("1024")) );
+        graph.add( create(contentSubj, HAS_MIME_TYPE.asNode(), createLiteral("image/jpeg")) );
+        graph.add( create(contentSubj, HAS_ORIGINAL_NAME.asNode(), createLiteral("test.jpg")) );
+        graph.add( create(contentSubj, REST_API_DIGEST.asNode(), createURI(CHECKSUM)) );
+        when(mockHelper.loadProperties(any(FedoraResourceImpl.class))).thenAnswer(new Answer<FedoraResourceImpl>() {
+            @Override
+            public FedoraResourceImpl answer(final InvocationOnMock invocation) {
+                final FedoraResourceImpl resource = (FedoraResourceImpl) invocation.getArguments()[0];
+                resource.setGraph( graph );
+                return resource;
+            }
+        });
+    }
+
+    private static void assertDatastreamContent(final FedoraDatastream datastream) throws FedoraException {
+        assertTrue( datastream.hasContent() );
+        assertEquals( Long.valueOf(1024), datastream.getContentSize() );
+        assertEquals( "image/jpeg", datastream.getContentType() );
+        assertEquals( "test.jpg", datastream.getFilename() );
+        assertEquals( URI.create(CHECKSUM), datastream.getContentDigest() );
+    }
+
+    private Graph containmentGraph() {
+        final Graph graph = createDefaultGraph();
+        graph.add( create(objectSubj, CONTAINS.asNode(), objectChildSubj) );
+        graph.add( create(objectSubj, CONTAINS.asNode(), customChildSubj) );
+        return graph;
+    }
+
+    private static Set<String> paths(final String... paths) {
+        return new HashSet<>(asList(paths));
+    }
+
+    private static Set<String> paths(final Collection<FedoraResource> resources) throws FedoraException {
+        final Set<String> paths = new HashSet<>();
+        for (final FedoraResource resource : resources) {
+            paths.add(resource.getPath());
+        }
+        return paths;
+    }
 }
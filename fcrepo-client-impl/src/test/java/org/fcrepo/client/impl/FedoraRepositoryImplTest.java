@@ -17,7 +17,9 @@ package org.fcrepo.client.impl;
 
 import static com.hp.hpl.jena.graph.NodeFactory.createLiteral;
 import static com.hp.hpl.jena.graph.NodeFactory.createURI;
+import static java.util.Arrays.asList;
 import static org.apache.http.HttpStatus.SC_CREATED;
+import static org.apache.http.HttpStatus.SC_NO_CONTENT;
 import static org.apache.http.HttpStatus.SC_NOT_FOUND;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.fcrepo.kernel.api.RdfLexicon.HAS_PRIMARY_IDENTIFIER;
@@ -27,11 +29,12 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -39,25 +42,39 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 
 import org.apache.http.protocol.HttpContext;
 import org.fcrepo.client.NotFoundException;
+import org.fcrepo.client.PreferProfile;
 
 import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Triple;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
 import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.client.methods.HttpPut;
 import org.fcrepo.client.FedoraContent;
 import org.fcrepo.client.FedoraException;
 import org.fcrepo.client.FedoraObject;
+import org.fcrepo.client.utils.ExistenceCache;
 import org.fcrepo.client.utils.HttpHelper;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 /**
  * Writable repository impl -- read and write operations should both work.
@@ -111,9 +128,7 @@ public class FedoraRepositoryImplTest {
         final String testId = "testGetObject";
         when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
         when(mockResponse.getEntity()).thenReturn(mockEntity);
-        final Header mockContentType = mock(Header.class);
-        when(mockEntity.getContentType()).thenReturn(mockContentType);
-        when(mockContentType.getValue()).thenReturn("application/rdf+xml");
+        when(mockEntity.getContentType()).thenReturn(new BasicHeader("Content-Type", "application/rdf+xml"));
         when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
         when(mockStatusLine.getStatusCode()).thenReturn(SC_OK);
         try (
@@ -126,6 +141,71 @@ public class FedoraRepositoryImplTest {
         assertTrue(testObject.getProperties().hasNext());
     }
 
+    @Test
+    public void testGetObjectProjected() throws IOException, FedoraException {
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
+        when(mockResponse.getEntity()).thenReturn(mockEntity);
+        when(mockEntity.getContentType()).thenReturn(new BasicHeader("Content-Type", "application/rdf+xml"));
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_OK);
+        when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(testContent.getBytes()));
+
+        final FedoraObject testObject = fedoraRepository.getObject("/testObject", HAS_PRIMARY_IDENTIFIER.asNode());
+        final Iterator<Triple> properties = testObject.getProperties();
+        assertEquals(HAS_PRIMARY_IDENTIFIER.asNode(), properties.next().getPredicate());
+        assertFalse(properties.hasNext());
+    }
+
+    @Test
+    public void testGetObjectPreferProfile() throws IOException, FedoraException {
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
+        when(mockResponse.getEntity()).thenReturn(mockEntity);
+        when(mockEntity.getContentType()).thenReturn(new BasicHeader("Content-Type", "application/rdf+xml"));
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_OK);
+        when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(testContent.getBytes()));
+
+        final FedoraObject testObject = fedoraRepository.getObject("/testObject", PreferProfile.NO_CONTAINMENT);
+        assertTrue(testObject.getProperties().hasNext());
+        final ArgumentCaptor<HttpUriRequest> request = ArgumentCaptor.forClass(HttpUriRequest.class);
+        verify(mockClient).execute(request.capture(), any(HttpContext.class));
+        assertEquals(PreferProfile.NO_CONTAINMENT.getHeaderValue(),
+                request.getValue().getFirstHeader("Prefer").getValue());
+    }
+
+    @Test
+    public void testGetObjectLazy() throws IOException, FedoraException {
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
+        when(mockResponse.getEntity()).thenReturn(mockEntity);
+        when(mockEntity.getContentType()).thenReturn(new BasicHeader("Content-Type", "application/rdf+xml"));
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_OK);
+        try (
+            InputStream rdf =
+                new ByteArrayInputStream(testContent.getBytes())) {
+            when(mockEntity.getContent()).thenReturn(rdf);
+        }
+
+        fedoraRepository.setLazyLoading(true);
+        final FedoraObject testObject = fedoraRepository.getObject("/testObject");
+        assertEquals("/testObject", testObject.getPath());
+        verify(mockClient, never()).execute(any(HttpUriRequest.class), any(HttpContext.class));
+
+        assertTrue(testObject.getProperties().hasNext());
+        assertTrue(testObject.getProperties().hasNext());
+        verify(mockClient, times(1)).execute(any(HttpUriRequest.class), any(HttpContext.class));
+    }
+
+    @Test (expected = NotFoundException.class)
+    public void testGetObjectLazyNonExistent() throws IOException, FedoraException {
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_NOT_FOUND);
+
+        fedoraRepository.setLazyLoading(true);
+        fedoraRepository.getObject("/testObject").getProperties();
+    }
+
     @Test
     public void testGetRepositoryUrl() {
         assertEquals ("Resitory URL is not the same", testRepositoryUrl, fedoraRepository.getRepositoryUrl());
@@ -149,6 +229,18 @@ public class FedoraRepositoryImplTest {
         assertFalse(fedoraRepository.exists(testId));
     }
 
+    @Test
+    public void testExistsCached() throws IOException, FedoraException {
+        final String testId = "testGetObject";
+        fedoraRepository.setExistenceCache(new ExistenceCache(60000, 10));
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_NOT_FOUND);
+        assertFalse(fedoraRepository.exists(testId));
+        assertFalse(fedoraRepository.exists(testId));
+        verify(mockClient, times(1)).execute(any(HttpUriRequest.class), any(HttpContext.class));
+    }
+
     @Test
     public void testCreateObject() throws IOException, FedoraException {
         final String testId = "testNewObject";
@@ -166,9 +258,7 @@ public class FedoraRepositoryImplTest {
 
         // get
         when(mockResponse.getEntity()).thenReturn(mockEntity);
-        final Header mockContentType = mock(Header.class);
-        when(mockEntity.getContentType()).thenReturn(mockContentType);
-        when(mockContentType.getValue()).thenReturn("application/rdf+xml");
+        when(mockEntity.getContentType()).thenReturn(new BasicHeader("Content-Type", "application/rdf+xml"));
         when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
         when(mockStatusLine.getStatusCode()).thenReturn(SC_OK);
         when(mockStatusLine.getReasonPhrase()).thenReturn("OK");
@@ -183,11 +273,47 @@ public class FedoraRepositoryImplTest {
         assertTrue(testObject.getProperties().hasNext());
     }
 
+    @Test
+    public void testCreateObjectWithoutLoad() throws IOException, FedoraException {
+        final String testId = "testNewObject";
+        final HttpResponse mockResponse2 = mock(HttpResponse.class);
+        final StatusLine mockStatusLine2 = mock(StatusLine.class);
+
+        when(mockClient.execute(
+                any(HttpUriRequest.class),
+                any(HttpContext.class))).thenReturn(mockResponse2, mockResponse);
+
+        // put
+        when(mockResponse2.getStatusLine()).thenReturn(mockStatusLine2);
+        when(mockStatusLine2.getStatusCode()).thenReturn(SC_CREATED);
+
+        // get
+        when(mockResponse.getEntity()).thenReturn(mockEntity);
+        when(mockEntity.getContentType()).thenReturn(new BasicHeader("Content-Type", "application/rdf+xml"));
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_OK);
+        try (
+            InputStream rdf =
+                new ByteArrayInputStream(testContent.getBytes())) {
+            when(mockEntity.getContent()).thenReturn(rdf);
+        }
+
+        fedoraRepository.setLoadAfterCreate(false);
+        final FedoraObject testObject = fedoraRepository.createObject(testId);
+        assertEquals(testId, testObject.getPath());
+        assertFalse(((FedoraObjectImpl) testObject).isLoaded());
+        verify(mockClient, times(1)).execute(any(HttpUriRequest.class), any(HttpContext.class));
+
+        // properties are loaded on first access
+        assertTrue(testObject.getProperties().hasNext());
+        verify(mockClient, times(2)).execute(any(HttpUriRequest.class), any(HttpContext.class));
+    }
+
     @Test
     public void testFindOrCreateObject() throws FedoraException {
         final FedoraRepositoryImpl spy = spy( new FedoraRepositoryImpl(testRepositoryUrl, mockClient) );
         final FedoraObject mockObject = mock(FedoraObject.class);
-        doReturn(mockObject).when(spy).getObject(anyString());
+        doReturn(Optional.of(mockObject)).when(spy).tryGetObject(anyString());
 
         final FedoraObject object = spy.findOrCreateObject("/foo");
         assertEquals(mockObject, object);
@@ -196,8 +322,7 @@ public class FedoraRepositoryImplTest {
     @Test
     public void testFindOrCreateObjectNonExistent() throws FedoraException {
         final FedoraRepositoryImpl spy = spy( new FedoraRepositoryImpl(testRepositoryUrl, mockClient) );
-        final NotFoundException mockException = mock(NotFoundException.class);
-        doThrow(mockException).when(spy).getObject(anyString());
+        doReturn(Optional.empty()).when(spy).tryGetObject(anyString());
         final FedoraObject mockObject = mock(FedoraObject.class);
         doReturn(mockObject).when(spy).createObject(anyString());
 
@@ -205,6 +330,92 @@ public class FedoraRepositoryImplTest {
         assertEquals(mockObject, object);
     }
 
+    @Test
+    public void testFindOrCreateObjectCachedNonExistent() throws IOException, FedoraException {
+        final FedoraRepositoryImpl spy = spy( new FedoraRepositoryImpl(testRepositoryUrl, mockClient) );
+        spy.setExistenceCache(new ExistenceCache(60000, 10));
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_NOT_FOUND);
+        final FedoraObject mockObject = mock(FedoraObject.class);
+        doReturn(mockObject).when(spy).createObject(anyString());
+
+        assertFalse(spy.exists("/foo"));
+        assertEquals(mockObject, spy.findOrCreateObject("/foo"));
+        verify(mockClient, times(1)).execute(any(HttpUriRequest.class), any(HttpContext.class));
+    }
+
+    @Test
+    public void testFindOrCreateObjectCreatedInTransaction() throws IOException, FedoraException {
+        final FedoraRepositoryImpl repository = new FedoraRepositoryImpl(testRepositoryUrl, mockClient);
+        repository.setExistenceCache(new ExistenceCache(60000, 10));
+        repository.setLoadAfterCreate(false);
+        final List<String> methods = new ArrayList<>();
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenAnswer(
+                new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(final InvocationOnMock invocation) {
+                final HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+                methods.add(request.getMethod());
+                if (request.getMethod().equals("HEAD")) {
+                    return new BasicHttpResponse(HttpVersion.HTTP_1_1, SC_NOT_FOUND, null);
+                } else if (request.getURI().toString().endsWith("fcr:commit")) {
+                    return new BasicHttpResponse(HttpVersion.HTTP_1_1, SC_NO_CONTENT, null);
+                } else if (request.getMethod().equals("GET")) {
+                    final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, SC_OK, null);
+                    final ByteArrayEntity entity = new ByteArrayEntity(testContent.getBytes());
+                    entity.setContentType("application/rdf+xml");
+                    response.setEntity(entity);
+                    return response;
+                }
+                final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, SC_CREATED, null);
+                response.setHeader("Location", testRepositoryUrl + "/tx:123");
+                return response;
+            }
+        });
+
+        // cached as missing, then created in a transaction that is committed
+        assertFalse(repository.exists("/testObject"));
+        repository.startTransaction();
+        repository.createObject("/testObject");
+        repository.commitTransaction();
+
+        // the object is found instead of being created again
+        final FedoraObject object = repository.findOrCreateObject("/testObject");
+        assertEquals("/testObject", object.getPath());
+        assertEquals(asList("HEAD", "POST", "PUT", "POST", "GET"), methods);
+    }
+
+    @Test
+    public void testTryGetObject() throws IOException, FedoraException {
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
+        when(mockResponse.getEntity()).thenReturn(mockEntity);
+        when(mockEntity.getContentType()).thenReturn(new BasicHeader("Content-Type", "application/rdf+xml"));
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_OK);
+        when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(testContent.getBytes()));
+
+        final Optional<FedoraObject> object = fedoraRepository.tryGetObject("/testObject");
+        assertTrue(object.isPresent());
+        assertEquals("/testObject", object.get().getPath());
+    }
+
+    @Test
+    public void testTryGetObjectNonExistent() throws IOException, FedoraException {
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_NOT_FOUND);
+        assertFalse(fedoraRepository.tryGetObject("/testNonExistent").isPresent());
+    }
+
+    @Test
+    public void testTryGetDatastreamNonExistent() throws IOException, FedoraException {
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(mockResponse);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(SC_NOT_FOUND);
+        assertFalse(fedoraRepository.tryGetDatastream("/testNonExistent").isPresent());
+    }
+
     @Test
     public void testWritable() {
         assertTrue( fedoraRepository.isWritable() );
@@ -218,19 +429,15 @@ public class FedoraRepositoryImplTest {
         final HttpResponse response = mock(HttpResponse.class);
         final StatusLine status = mock(StatusLine.class);
         final FedoraObjectImpl object = new FedoraObjectImpl( fedoraRepository, httpHelper, path );
-        final Header etagHeader = mock(Header.class);
-        final Header[] etagArray = new Header[]{ etagHeader };
-        final Header typeHeader = mock(Header.class);
+        final Header[] etagArray = new Header[]{ new BasicHeader("ETag", etag) };
         final HttpEntity entity = mock(HttpEntity.class);
 
         when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(response.getStatusLine()).thenReturn(status);
         when(status.getStatusCode()).thenReturn(200);
-        when(response.getHeaders(eq("ETag"))).thenReturn(etagArray);
+        when(response.getAllHeaders()).thenReturn(etagArray);
         when(response.getEntity()).thenReturn(entity);
-        when(entity.getContentType()).thenReturn(typeHeader);
-        when(etagHeader.getValue()).thenReturn(etag);
-        when(typeHeader.getValue()).thenReturn("application/rdf+xml");
+        when(entity.getContentType()).thenReturn(new BasicHeader("Content-Type", "application/rdf+xml"));
         when(entity.getContent()).thenReturn(new ByteArrayInputStream(testContent.getBytes()));
 
         httpHelper.loadProperties( object );
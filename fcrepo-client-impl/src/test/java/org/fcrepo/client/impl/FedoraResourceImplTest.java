@@ -18,18 +18,25 @@ package org.fcrepo.client.impl;
 import static com.hp.hpl.jena.graph.Factory.createDefaultGraph;
 import static com.hp.hpl.jena.graph.NodeFactory.createURI;
 import static com.hp.hpl.jena.graph.Triple.create;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
@@ -44,12 +51,17 @@ import org.fcrepo.kernel.api.RdfLexicon;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import com.hp.hpl.jena.graph.Graph;
 import com.hp.hpl.jena.rdf.model.ResourceFactory;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  *
@@ -70,9 +82,6 @@ public class FedoraResourceImplTest {
 
     private boolean isWritable = true;
 
-    private static SimpleDateFormat dateFormat =
-            new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-
     private String testDateValue = "2014-08-14T15:11:30.118Z";
     private String testMixinType = RdfLexicon.REPOSITORY_NAMESPACE + "test";
     private final String repositoryURL = "http://localhost:8080/rest";
@@ -99,7 +108,7 @@ public class FedoraResourceImplTest {
     @Test
     public void testGetCreatedDate() throws FedoraException {
         assertEquals("Created date is not the same",
-                testDateValue, dateFormat.format(resource.getCreatedDate()));
+                testDateValue, resource.getCreatedDate().toInstant().toString());
     }
 
     @Test
@@ -112,7 +121,54 @@ public class FedoraResourceImplTest {
     @Test
     public void testGetLastModifiedDate() throws FedoraException {
         assertEquals("LastModifiedDate is not the same",
-                testDateValue, dateFormat.format(resource.getLastModifiedDate()));
+                testDateValue, resource.getLastModifiedDate().toInstant().toString());
+    }
+
+    @Test
+    public void testGetInstants() throws FedoraException {
+        assertEquals(Instant.parse(testDateValue), resource.getCreatedInstant());
+        assertEquals(Instant.parse(testDateValue), resource.getLastModifiedInstant());
+    }
+
+    @Test
+    public void testGetDatesConcurrently() throws Exception {
+        final ExecutorService executor = newFixedThreadPool(8);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws FedoraException {
+                        for (int j = 0; j < 1000; j++) {
+                            if (!testDateValue.equals(resource.getCreatedDate().toInstant().toString())
+                                    || !testDateValue.equals(resource.getLastModifiedInstant().toString())) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (final Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPropertiesReadOnce() throws FedoraException {
+        assertSame(resource.getMixins(), resource.getMixins());
+        assertSame(resource.getCreatedInstant(), resource.getCreatedInstant());
+
+        final Graph graph = createDefaultGraph();
+        graph.add( create(createURI(repositoryURL + "/test"), RdfLexicon.WRITABLE.asNode(),
+                          ResourceFactory.createTypedLiteral(Boolean.FALSE).asNode()) );
+        resource.setGraph( graph );
+        assertTrue(resource.getMixins().isEmpty());
+        assertNull(resource.getCreatedInstant());
+        assertFalse(resource.isWritable());
     }
 
     @Test
@@ -164,6 +220,38 @@ public class FedoraResourceImplTest {
 
         resource.updateProperties("test sparql update");
         verify(mockHelper).execute(patch);
+        verify(mockHelper).discardLoads(resource.getPropertiesPath());
+        verify(mockHelper).loadProperties(resource);
+
+        // updating properties does not change whether the resource exists
+        verify(mockHelper, never()).getExistenceCache();
+    }
+
+    @Test
+    public void testUpdatePropertiesWithoutReload() throws Exception {
+        final HttpResponse mockResponse = mock(HttpResponse.class);
+        final StatusLine mockStatus = mock(StatusLine.class);
+        final HttpPatch patch = new HttpPatch(repositoryURL);
+        when(mockHelper.execute(any(HttpPatch.class))).thenReturn(mockResponse);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatus);
+        when(mockStatus.getStatusCode()).thenReturn(204);
+        when(mockHelper.createPatchMethod(anyString(), anyString())).thenReturn(patch);
+
+        resource.setReloadAfterUpdate(false);
+        resource.updateProperties("test sparql update");
+        verify(mockHelper).execute(patch);
+        verify(mockHelper, never()).loadProperties(resource);
+        assertFalse(resource.isLoaded());
+
+        // stale properties are reloaded on next access
+        when(mockHelper.loadProperties(resource)).thenAnswer(new Answer<FedoraResourceImpl>() {
+            @Override
+            public FedoraResourceImpl answer(final InvocationOnMock invocation) {
+                resource.setGraph(createDefaultGraph());
+                return resource;
+            }
+        });
+        resource.getProperties();
         verify(mockHelper).loadProperties(resource);
     }
 
@@ -181,6 +269,7 @@ public class FedoraResourceImplTest {
         resource.updateProperties(in, "text/n3");
         verify(mockHelper).execute(put);
         verify(mockHelper).loadProperties(resource);
+        verify(mockHelper, never()).getExistenceCache();
     }
 
     @Test
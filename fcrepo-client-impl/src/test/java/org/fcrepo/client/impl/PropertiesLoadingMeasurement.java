@@ -0,0 +1,524 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.apache.jena.riot.Lang.NTRIPLES;
+import static org.fcrepo.kernel.api.RdfLexicon.CONTAINS;
+import static org.fcrepo.kernel.api.RdfLexicon.CREATED_DATE;
+import static org.fcrepo.kernel.api.RdfLexicon.HAS_MIXIN_TYPE;
+import static org.fcrepo.kernel.api.RdfLexicon.HAS_PARENT;
+import static org.fcrepo.kernel.api.RdfLexicon.HAS_PRIMARY_TYPE;
+import static org.fcrepo.kernel.api.RdfLexicon.LAST_MODIFIED_DATE;
+import static org.fcrepo.kernel.api.RdfLexicon.REPOSITORY_NAMESPACE;
+import static org.fcrepo.kernel.api.RdfLexicon.WRITABLE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.jena.atlas.lib.Sink;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.lang.CollectorStreamTriples;
+import org.apache.jena.riot.lang.SinkTriplesToGraph;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.fcrepo.client.FedoraObject;
+import org.fcrepo.client.utils.NodeInterner;
+import org.fcrepo.client.utils.RDFSinkFilter;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.NodeFactory;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.shared.RandomOrderGraph;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Ad-hoc measurements of loading resource properties, comparing the current code with the way properties
+ * were loaded before (collecting the parsed triples, then filtering them with a linear scan into a GraphMem,
+ * and parsing dates with a shared SimpleDateFormat).  This is not part of the test suite; run it by hand with
+ * a fixed heap so the memory figures are comparable:
+ * <pre>
+ * mvn -pl fcrepo-client-impl test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -Xms2g -Xmx2g -cp fcrepo-client-impl/target/classes:fcrepo-client-impl/target/test-classes:$(cat \
+ *     fcrepo-client-impl/target/cp.txt) org.fcrepo.client.impl.PropertiesLoadingMeasurement
+ * </pre>
+ * Times are the mean of the measured runs after warm-up runs; memory is the heap retained after a full GC.
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public final class PropertiesLoadingMeasurement {
+
+    private static final String BASE = "http://localhost:8080/rest";
+    private static final String DC_TITLE = "http://purl.org/dc/elements/1.1/title";
+    private static final String RDF_TYPE = "http://www.w3.org/1999/02/22-rdf-syntax-ns#type";
+    private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+    private static final int CONTAINER_CHILDREN = 10000;
+    private static final int RESOURCES = 20000;
+    private static final int STUB_CHILDREN = 200;
+    private static final int STUB_LATENCY_MS = 5;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+
+    private PropertiesLoadingMeasurement() {
+    }
+
+    /**
+     * Run all measurements and print the results.
+     *
+     * @param args ignored
+     */
+    public static void main(final String[] args) throws Exception {
+        final byte[] container = containerDocument(CONTAINER_CHILDREN).getBytes(UTF_8);
+        measureParsing(container);
+        measureFilterWidths(container);
+        measureRetainedHeap();
+        measureDateParsing();
+        measureChildLoading();
+    }
+
+    /**
+     * Streaming parse (user-011) and serialization (user-012) of a container with embedded children.
+     */
+    private static void measureParsing(final byte[] ntriples) throws Exception {
+        final RDFFormat[] formats = { RDFFormat.NTRIPLES, RDFFormat.TURTLE, RDFFormat.RDFXML_PLAIN };
+        final byte[][] documents = serialize(ntriples, formats);
+        System.out.printf("%nParsing a container of %d triples%n",
+                RDFSinkFilter.filterTriples(new ByteArrayInputStream(ntriples), NTRIPLES, BASE, Node.ANY).size());
+        System.out.printf("%-10s %8s %14s %14s %14s %14s%n", "format", "KiB",
+                "collect ms", "collect MiB", "stream ms", "stream MiB");
+        for (int i = 0; i < formats.length; i++) {
+            final Lang lang = formats[i].getLang();
+            final byte[] document = documents[i];
+            final Measurement collect = measure(new Task() {
+                @Override
+                public void run() {
+                    collectAndFilter(new ByteArrayInputStream(document), lang, BASE);
+                }
+            });
+            final Measurement stream = measure(new Task() {
+                @Override
+                public void run() {
+                    RDFSinkFilter.filterTriples(new ByteArrayInputStream(document), lang, BASE, Node.ANY);
+                }
+            });
+            System.out.printf("%-10s %8d %14.1f %14.1f %14.1f %14.1f%n", lang.getName(), document.length / 1024,
+                    collect.millis, collect.allocatedMiB, stream.millis, stream.allocatedMiB);
+        }
+    }
+
+    private static byte[][] serialize(final byte[] ntriples, final RDFFormat... formats) {
+        final Graph graph = RandomOrderGraph.createDefaultGraph();
+        RDFDataMgr.read(graph, new ByteArrayInputStream(ntriples), BASE, NTRIPLES);
+        final byte[][] documents = new byte[formats.length][];
+        for (int i = 0; i < formats.length; i++) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            RDFDataMgr.write(out, graph, formats[i]);
+            documents[i] = out.toByteArray();
+        }
+        return documents;
+    }
+
+    /**
+     * Linear scan and hash set predicate filters (user-015), each keeping one predicate of the container.
+     */
+    private static void measureFilterWidths(final byte[] ntriples) throws Exception {
+        final CollectorStreamTriples collected = new CollectorStreamTriples();
+        RDFDataMgr.parse(collected, new ByteArrayInputStream(ntriples), BASE, NTRIPLES);
+        final List<Triple> triples = new ArrayList<>(collected.getCollected());
+        System.out.printf("%nFiltering %d parsed triples, ns per triple%n", triples.size());
+        System.out.printf("%-6s %12s %12s%n", "width", "linear", "hash set");
+        for (final int width : new int[] { 1, 4, 16, 64 }) {
+            final Node[] properties = new Node[width];
+            properties[0] = CREATED_DATE.asNode();
+            for (int i = 1; i < width; i++) {
+                properties[i] = NodeFactory.createURI(REPOSITORY_NAMESPACE + "unused" + i);
+            }
+            final Measurement linear = measure(new Task() {
+                @Override
+                public void run() {
+                    filter(new LinearFilter(new CountingSink(), properties), triples);
+                }
+            });
+            final Measurement hashed = measure(new Task() {
+                @Override
+                public void run() {
+                    filter(RDFSinkFilter.create(new CountingSink(), null, null, properties), triples);
+                }
+            });
+            System.out.printf("%-6d %12.1f %12.1f%n", width, linear.millis * 1e6 / triples.size(),
+                    hashed.millis * 1e6 / triples.size());
+        }
+    }
+
+    /**
+     * Heap retained by the properties of many resources (user-013, user-014), each parsed from its own response.
+     */
+    private static void measureRetainedHeap() throws Exception {
+        final byte[][] documents = new byte[RESOURCES][];
+        for (int i = 0; i < RESOURCES; i++) {
+            documents[i] = resourceDocument(BASE + "/objects/" + i, BASE + "/objects", i).getBytes(UTF_8);
+        }
+        System.out.printf("%nHeap retained by the properties of %d resources of %d triples%n", RESOURCES,
+                RDFSinkFilter.filterTriples(new ByteArrayInputStream(documents[0]), NTRIPLES, BASE, Node.ANY).size());
+        System.out.printf("%-28s %14s %16s%n", "graph", "KiB per 1k", "MiB per 1M (est)");
+        for (final String variant : new String[] { "GraphMem (before)", "CompactGraph", "CompactGraph + interner" }) {
+            final List<Graph> retained = new ArrayList<>(RESOURCES);
+            final NodeInterner interner = variant.endsWith("interner") ? new NodeInterner() : null;
+            final long before = usedHeap();
+            for (int i = 0; i < RESOURCES; i++) {
+                final InputStream in = new ByteArrayInputStream(documents[i]);
+                final String uri = BASE + "/objects/" + i;
+                retained.add(variant.startsWith("GraphMem") ? collectAndFilter(in, NTRIPLES, uri)
+                        : RDFSinkFilter.filterTriples(in, NTRIPLES, uri, interner, null, Node.ANY));
+            }
+            final long perThousand = (usedHeap() - before) * 1000 / RESOURCES;
+            System.out.printf("%-28s %14d %16d%n", variant, perThousand / 1024, perThousand * 1000 / (1024 * 1024));
+            retained.clear();
+        }
+    }
+
+    /**
+     * Dates parsed on several threads at once (user-018), checking every result.
+     */
+    private static void measureDateParsing() throws Exception {
+        final String[] dates = new String[10000];
+        final long[] expected = new long[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = String.format("20%02d-%02d-%02dT%02d:%02d:%02d.%03dZ", i % 30, i % 12 + 1, i % 28 + 1,
+                    i % 24, i % 60, (i * 7) % 60, i % 1000);
+            expected[i] = Instant.parse(dates[i]).toEpochMilli();
+        }
+        final SimpleDateFormat shared = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+        shared.setTimeZone(TimeZone.getTimeZone("UTC"));
+        final DateParser unsynchronized = new DateParser() {
+            @Override
+            public long parse(final String value) throws Exception {
+                return shared.parse(value).getTime();
+            }
+        };
+        final DateParser synchronizedFormat = new DateParser() {
+            @Override
+            public long parse(final String value) throws Exception {
+                synchronized (shared) {
+                    return shared.parse(value).getTime();
+                }
+            }
+        };
+        final DateParser instant = new DateParser() {
+            @Override
+            public long parse(final String value) {
+                return Instant.parse(value).toEpochMilli();
+            }
+        };
+        System.out.printf("%nParsing dates, %d available processors%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-36s %8s %12s %10s%n", "parser", "threads", "parses/ms", "wrong");
+        for (final int threads : new int[] { 1, 4, 8 }) {
+            measureDates("shared SimpleDateFormat (before)", unsynchronized, threads, dates, expected);
+            measureDates("synchronized SimpleDateFormat", synchronizedFormat, threads, dates, expected);
+            measureDates("Instant.parse", instant, threads, dates, expected);
+        }
+    }
+
+    private static void measureDates(final String name, final DateParser parser, final int threads,
+                                     final String[] dates, final long[] expected) throws Exception {
+        final int rounds = 20;
+        final ExecutorService executor = newFixedThreadPool(threads);
+        try {
+            for (int warmup = 0; warmup < WARMUP_RUNS; warmup++) {
+                runParsers(executor, parser, threads, rounds, dates, expected);
+            }
+            final long start = System.nanoTime();
+            final long wrong = runParsers(executor, parser, threads, rounds, dates, expected);
+            final double millis = (System.nanoTime() - start) / 1e6;
+            System.out.printf("%-36s %8d %12.0f %10d%n", name, threads,
+                    (double) threads * rounds * dates.length / millis, wrong);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long runParsers(final ExecutorService executor, final DateParser parser, final int threads,
+                                   final int rounds, final String[] dates, final long[] expected) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    start.await();
+                    long wrong = 0;
+                    for (int round = 0; round < rounds; round++) {
+                        for (int i = 0; i < dates.length; i++) {
+                            try {
+                                if (parser.parse(dates[i]) != expected[i]) {
+                                    wrong++;
+                                }
+                            } catch (final Exception e) {
+                                wrong++;
+                            }
+                        }
+                    }
+                    return wrong;
+                }
+            }));
+        }
+        start.countDown();
+        long wrong = 0;
+        for (final Future<Long> result : results) {
+            wrong += result.get();
+        }
+        return wrong;
+    }
+
+    /**
+     * FedoraObject.getChildren against a stub server that answers each child request after a delay (user-008).
+     */
+    private static void measureChildLoading() throws Exception {
+        // send the response headers and body together, so the client does not wait for a delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        final String base = "http://localhost:" + server.getAddress().getPort() + "/rest";
+        final StringBuilder parent = new StringBuilder();
+        for (int i = 0; i < STUB_CHILDREN; i++) {
+            parent.append(triple(base + "/parent", CONTAINS.getURI(), "<" + base + "/parent/child" + i + ">"));
+        }
+        final byte[] parentDocument = parent.toString().getBytes(UTF_8);
+        final ExecutorService serverThreads = newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/rest", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                final String path = exchange.getRequestURI().getPath();
+                final byte[] body;
+                if (path.equals("/rest/parent")) {
+                    body = parentDocument;
+                } else {
+                    try {
+                        Thread.sleep(STUB_LATENCY_MS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    body = resourceDocument(base + path.substring("/rest".length()), base + "/parent", 0)
+                            .getBytes(UTF_8);
+                }
+                exchange.getResponseHeaders().add("Content-Type", NTRIPLES.getHeaderString());
+                exchange.sendResponseHeaders(200, body.length);
+                try (final OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        server.start();
+        final FedoraRepositoryImpl repository = new FedoraRepositoryImpl(base);
+        try {
+            final FedoraObject object = repository.getObject("/parent");
+            System.out.printf("%nLoading %d children, stub server latency %d ms%n", STUB_CHILDREN, STUB_LATENCY_MS);
+            System.out.printf("%-12s %10s %10s%n", "concurrency", "ms", "speed-up");
+            double sequential = 0;
+            for (final int concurrency : new int[] { 1, 4, 16, 32 }) {
+                repository.setChildLoadingConcurrency(concurrency);
+                final Measurement load = measure(new Task() {
+                    @Override
+                    public void run() throws Exception {
+                        if (object.getChildren(null).size() != STUB_CHILDREN) {
+                            throw new IllegalStateException("missing children");
+                        }
+                    }
+                });
+                if (concurrency == 1) {
+                    sequential = load.millis;
+                }
+                System.out.printf("%-12d %10.1f %10.1f%n", concurrency, load.millis, sequential / load.millis);
+            }
+        } finally {
+            repository.close();
+            server.stop(0);
+            serverThreads.shutdown();
+        }
+    }
+
+    /**
+     * Load properties the way they were loaded before: collect every parsed triple, then copy the ones passing
+     * a linear predicate filter into a mutable GraphMem.
+     */
+    private static Graph collectAndFilter(final InputStream in, final Lang lang, final String baseURI) {
+        final CollectorStreamTriples collected = new CollectorStreamTriples();
+        RDFDataMgr.parse(collected, in, baseURI, lang);
+        final Graph graph = new RandomOrderGraph(RandomOrderGraph.createDefaultGraph());
+        // the sink registers global listeners until it is closed, which the old code never did, so it also
+        // leaked every graph; close it here so the leak doesn't skew the later measurements
+        final SinkTriplesToGraph sink = new SinkTriplesToGraph(true, graph);
+        try {
+            filter(new LinearFilter(sink, Node.ANY), collected.getCollected());
+        } finally {
+            sink.close();
+        }
+        return graph;
+    }
+
+    private static void filter(final StreamRDFBase filter, final Collection<Triple> triples) {
+        filter.start();
+        for (final Triple triple : triples) {
+            filter.triple(triple);
+        }
+        filter.finish();
+    }
+
+    private static String containerDocument(final int children) {
+        final String parent = BASE + "/parent";
+        final StringBuilder document = new StringBuilder();
+        for (int i = 0; i < children; i++) {
+            final String child = parent + "/child" + i;
+            document.append(triple(parent, CONTAINS.getURI(), "<" + child + ">"));
+            document.append(resourceDocument(child, parent, i));
+        }
+        return document.toString();
+    }
+
+    /**
+     * The properties Fedora typically returns for a container.
+     */
+    private static String resourceDocument(final String uri, final String parent, final int i) {
+        final String date = "\"2015-06-" + (i % 18 + 10) + "T10:11:" + (i % 50 + 10) + "." + (i % 900 + 100)
+                + "Z\"^^<" + XSD + "dateTime>";
+        return triple(uri, RDF_TYPE, "<" + REPOSITORY_NAMESPACE + "Container>")
+                + triple(uri, RDF_TYPE, "<http://www.w3.org/ns/ldp#RDFSource>")
+                + triple(uri, CREATED_DATE.getURI(), date)
+                + triple(uri, LAST_MODIFIED_DATE.getURI(), date)
+                + triple(uri, HAS_MIXIN_TYPE.getURI(), "\"fedora:Container\"")
+                + triple(uri, HAS_PRIMARY_TYPE.getURI(), "\"nt:folder\"")
+                + triple(uri, WRITABLE.getURI(), "\"true\"^^<" + XSD + "boolean>")
+                + triple(uri, HAS_PARENT.getURI(), "<" + parent + ">")
+                + triple(uri, DC_TITLE, "\"Object " + i + "\"");
+    }
+
+    private static String triple(final String subject, final String predicate, final String object) {
+        return "<" + subject + "> <" + predicate + "> " + object + " .\n";
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Measurement measure(final Task task) throws Exception {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            task.run();
+        }
+        final long allocated = threads.getThreadAllocatedBytes(thread);
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            task.run();
+        }
+        return new Measurement((System.nanoTime() - start) / 1e6 / MEASURED_RUNS,
+                (threads.getThreadAllocatedBytes(thread) - allocated) / (1024.0 * 1024.0) / MEASURED_RUNS);
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private interface DateParser {
+        long parse(String value) throws Exception;
+    }
+
+    private static class Measurement {
+        private final double millis;
+        private final double allocatedMiB;
+
+        Measurement(final double millis, final double allocatedMiB) {
+            this.millis = millis;
+            this.allocatedMiB = allocatedMiB;
+        }
+    }
+
+    /**
+     * Counts the triples it is sent, so the filters have a destination that costs next to nothing.
+     */
+    private static class CountingSink implements Sink<Triple> {
+        private long count;
+
+        @Override
+        public void send(final Triple triple) {
+            count++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * The predicate filter RDFSinkFilter used before, scanning the properties for every triple.
+     */
+    private static class LinearFilter extends StreamRDFBase {
+        private final Node[] properties;
+        private final Sink<Triple> dest;
+
+        LinearFilter(final Sink<Triple> dest, final Node... properties) {
+            this.dest = dest;
+            this.properties = properties.clone();
+        }
+
+        @Override
+        public void triple(final Triple triple) {
+            for (final Node p : properties) {
+                if (Node.ANY == p || triple.getPredicate().equals(p)) {
+                    dest.send(triple);
+                }
+            }
+        }
+
+        @Override
+        public void finish() {
+            dest.flush();
+        }
+    }
+}
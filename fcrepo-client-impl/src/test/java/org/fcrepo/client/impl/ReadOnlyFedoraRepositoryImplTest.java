@@ -17,13 +17,11 @@ package org.fcrepo.client.impl;
 
 import static org.junit.Assert.assertFalse;
 import static org.mockito.Matchers.anyString;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
 
 import java.io.IOException;
-
-import org.fcrepo.client.NotFoundException;
+import java.util.Optional;
 
 import org.fcrepo.client.FedoraException;
 import org.fcrepo.client.ReadOnlyException;
@@ -73,6 +71,11 @@ public class ReadOnlyFedoraRepositoryImplTest extends FedoraRepositoryImplTest {
         super.testCreateObject();
     }
 
+    @Test (expected = ReadOnlyException.class)
+    public void testCreateObjectWithoutLoad() throws IOException, FedoraException {
+        super.testCreateObjectWithoutLoad();
+    }
+
     @Test
     public void testFindOrCreateObject() throws FedoraException {
         super.testFindOrCreateObject();
@@ -81,8 +84,7 @@ public class ReadOnlyFedoraRepositoryImplTest extends FedoraRepositoryImplTest {
     @Test (expected = ReadOnlyException.class)
     public void testFindOrCreateObjectNonExistent() throws FedoraException {
         final ReadOnlyFedoraRepositoryImpl spy = spy( new ReadOnlyFedoraRepositoryImpl(testRepositoryUrl, mockClient) );
-        final NotFoundException mockException = mock(NotFoundException.class);
-        doThrow(mockException).when(spy).getObject(anyString());
+        doReturn(Optional.empty()).when(spy).tryGetObject(anyString());
         spy.findOrCreateObject("/foo");
     }
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import static com.hp.hpl.jena.graph.NodeFactory.createLiteral;
+import static com.hp.hpl.jena.graph.NodeFactory.createURI;
+import static com.hp.hpl.jena.graph.Triple.create;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.fcrepo.kernel.api.RdfLexicon;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.shared.AddDeniedException;
+
+/**
+ * Compact graph test
+ * @author agent
+ * @since 2026-10-16
+ */
+public class CompactGraphTest {
+
+    // "Aa" and "BB" have the same hash code, so these subjects share a position in the index
+    private final Node subject1 = createURI("http://localhost:8080/rest/Aa");
+    private final Node subject2 = createURI("http://localhost:8080/rest/BB");
+    private final Node mixin = RdfLexicon.HAS_MIXIN_TYPE.asNode();
+    private final Node contains = RdfLexicon.CONTAINS.asNode();
+
+    private final Triple mixin1 = create(subject1, mixin, createLiteral("fedora:Container"));
+    private final Triple mixin2 = create(subject2, mixin, createLiteral("fedora:Binary"));
+    private final Triple contains1 = create(subject1, contains, subject2);
+
+    private Graph graph;
+
+    @Before
+    public void setUp() {
+        graph = CompactGraph.copyOf(asList(mixin1, mixin2, contains1, mixin1));
+    }
+
+    @Test
+    public void testSize() {
+        assertEquals(3, graph.size());
+    }
+
+    @Test
+    public void testFindAll() {
+        final List<Triple> triples = graph.find(Node.ANY, Node.ANY, Node.ANY).toList();
+        assertEquals(3, triples.size());
+        assertTrue(triples.containsAll(asList(mixin1, mixin2, contains1)));
+    }
+
+    @Test
+    public void testFindBySubject() {
+        assertEquals(subject1.hashCode(), subject2.hashCode());
+        final List<Triple> triples = graph.find(subject1, Node.ANY, Node.ANY).toList();
+        assertEquals(2, triples.size());
+        assertTrue(triples.containsAll(asList(mixin1, contains1)));
+        assertEquals(asList(mixin2), graph.find(subject2, null, null).toList());
+    }
+
+    @Test
+    public void testFindBySubjectAndPredicate() {
+        assertEquals(asList(contains1), graph.find(subject1, contains, Node.ANY).toList());
+        assertFalse(graph.find(subject2, contains, Node.ANY).hasNext());
+    }
+
+    @Test
+    public void testFindByPredicate() {
+        final List<Triple> triples = graph.find(Node.ANY, mixin, Node.ANY).toList();
+        assertEquals(2, triples.size());
+        assertTrue(triples.containsAll(asList(mixin1, mixin2)));
+    }
+
+    @Test
+    public void testFindByObject() {
+        assertEquals(asList(contains1), graph.find(Node.ANY, Node.ANY, subject2).toList());
+        assertTrue(graph.contains(subject2, mixin, createLiteral("fedora:Binary")));
+        assertFalse(graph.contains(subject1, mixin, createLiteral("fedora:Binary")));
+    }
+
+    @Test
+    public void testFindMissing() {
+        assertFalse(graph.find(createURI("http://localhost:8080/rest/missing"), null, null).hasNext());
+        assertFalse(graph.find(Node.ANY, RdfLexicon.WRITABLE.asNode(), Node.ANY).hasNext());
+    }
+
+    @Test
+    public void testCopyOfGraph() {
+        assertTrue(graph == CompactGraph.copyOf(graph));
+    }
+
+    @Test
+    public void testDuplicatesWithCollidingHashes() {
+        // both objects have the same hash code, so all four triples are in one run of equal hashes
+        final Triple contains2 = create(subject1, contains, subject1);
+        graph = CompactGraph.copyOf(asList(contains1, contains2, contains1, contains2));
+        assertEquals(2, graph.size());
+        assertTrue(graph.find(Node.ANY, Node.ANY, Node.ANY).toList().containsAll(asList(contains1, contains2)));
+    }
+
+    @Test
+    public void testDuplicatesManyObjects() {
+        final List<Triple> triples = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            triples.add(create(subject1, contains, createURI("http://localhost:8080/rest/Aa/" + i)));
+        }
+        triples.addAll(new ArrayList<>(triples));
+        graph = CompactGraph.copyOf(triples);
+        assertEquals(1000, graph.size());
+        assertEquals(1000, graph.find(subject1, contains, Node.ANY).toList().size());
+    }
+
+    @Test (expected = AddDeniedException.class)
+    public void testReadOnly() {
+        graph.add(create(subject2, contains, subject1));
+    }
+}
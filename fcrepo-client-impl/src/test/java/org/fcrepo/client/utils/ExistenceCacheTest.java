@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Existence cache test.
+ *
+ * @author agent
+ * @since 2026-10-16
+ */
+public class ExistenceCacheTest {
+
+    private ExistenceCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ExistenceCache(60000, 2);
+    }
+
+    @Test
+    public void testGet() {
+        cache.put("/a", true);
+        cache.put("/b", false);
+        assertTrue(cache.get("/a"));
+        assertFalse(cache.get("/b"));
+        assertNull(cache.get("/c"));
+    }
+
+    @Test
+    public void testExpired() {
+        cache = new ExistenceCache(0, 2);
+        cache.put("/a", false);
+        assertNull(cache.get("/a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.put("/a", true);
+        cache.put("/a/b", false);
+        cache.invalidate("/a");
+        assertNull(cache.get("/a"));
+        assertNull(cache.get("/a/b"));
+    }
+
+    @Test
+    public void testInvalidateSiblings() {
+        cache.put("/a", true);
+        cache.put("/ab", false);
+        cache.invalidate("/a");
+        assertFalse(cache.get("/ab"));
+    }
+
+    @Test
+    public void testInvalidateTrailingSlash() {
+        cache = new ExistenceCache(60000, 10);
+        cache.put("/a/", true);
+        assertTrue(cache.get("/a"));
+        cache.put("/a/b", false);
+        cache.put("/a-b", false);
+        cache.put("/a0", false);
+        cache.invalidate("/a/");
+        assertNull(cache.get("/a"));
+        assertNull(cache.get("/a/b"));
+        assertFalse(cache.get("/a-b"));
+        assertFalse(cache.get("/a0"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testInvalidateRoot() {
+        cache.put("/a", true);
+        cache.put("/b", false);
+        cache.invalidate("/");
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testMaxEntries() {
+        cache.put("/a", true);
+        cache.put("/b", true);
+        cache.put("/c", true);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("/c"));
+        cache.put("/a", false);
+        assertFalse(cache.get("/a"));
+    }
+}
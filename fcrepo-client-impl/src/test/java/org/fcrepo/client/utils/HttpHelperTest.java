@@ -16,10 +16,17 @@
 package org.fcrepo.client.utils;
 
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.eq;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static java.util.Arrays.asList;
+import static java.util.Collections.newSetFromMap;
+import static com.hp.hpl.jena.graph.NodeFactory.createLiteral;
+import static com.hp.hpl.jena.graph.NodeFactory.createURI;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
@@ -29,11 +36,20 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.io.IOUtils;
 
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
 import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
@@ -41,25 +57,40 @@ import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
 
 import org.apache.http.protocol.HttpContext;
+import org.apache.jena.riot.Lang;
 import org.fcrepo.client.BadRequestException;
 import org.fcrepo.client.FedoraContent;
 import org.fcrepo.client.FedoraException;
 import org.fcrepo.client.FedoraRepository;
 import org.fcrepo.client.ForbiddenException;
 import org.fcrepo.client.NotFoundException;
+import org.fcrepo.client.PreferProfile;
 import org.fcrepo.client.ReadOnlyException;
+import org.fcrepo.client.impl.FedoraObjectImpl;
 import org.fcrepo.client.impl.FedoraResourceImpl;
+import org.fcrepo.kernel.api.RdfLexicon;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.hp.hpl.jena.graph.Triple;
 
 
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * HttpHelper test
@@ -94,22 +125,30 @@ public class HttpHelperTest {
     @Test
     public void testExecuteGet() throws Exception {
         final HttpGet get = new HttpGet(repoURL);
-        helper.execute(get);
-        verify(mockClient).execute(eq(get), any(HttpContext.class));
+        assertEquals("GET", executeAndCapture(helper, get).getMethod());
     }
 
     @Test
     public void testExecutePut() throws Exception {
         final HttpPut put = new HttpPut(repoURL);
-        helper.execute(put);
-        verify(mockClient).execute(eq(put), any(HttpContext.class));
+        assertEquals("PUT", executeAndCapture(helper, put).getMethod());
     }
 
     @Test
     public void testExecuteReadOnlyGet() throws Exception {
         final HttpGet get = new HttpGet(repoURL);
-        readOnlyHelper.execute(get);
-        verify(mockClient).execute(eq(get), any(HttpContext.class));
+        assertEquals("GET", executeAndCapture(readOnlyHelper, get).getMethod());
+    }
+
+    private HttpUriRequest executeAndCapture(final HttpHelper httpHelper, final HttpUriRequest request)
+            throws Exception {
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class)))
+                .thenReturn(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, null));
+        assertEquals(200, httpHelper.execute(request).getStatusLine().getStatusCode());
+        final ArgumentCaptor<HttpUriRequest> executed = ArgumentCaptor.forClass(HttpUriRequest.class);
+        verify(mockClient).execute(executed.capture(), any(HttpContext.class));
+        assertEquals(request.getURI(), executed.getValue().getURI());
+        return executed.getValue();
     }
 
     @Test (expected = ReadOnlyException.class)
@@ -205,6 +244,293 @@ public class HttpHelperTest {
         assertTrue(testResource.getMixins().contains("fedora:resource") );
     }
 
+    @Test
+    public void testCreatePropertiesGetMethod() {
+        final FedoraRepository mockRepo = mock(FedoraRepository.class);
+        when(mockRepo.getRepositoryUrl()).thenReturn(repoURL);
+        final FedoraResourceImpl resource = new FedoraResourceImpl(mockRepo, helper, "/foo");
+        assertEquals("application/n-triples", helper.createPropertiesGetMethod(resource)
+                .getFirstHeader("accept").getValue());
+
+        helper.setPropertiesLang(Lang.TURTLE);
+        assertEquals("text/turtle", helper.createPropertiesGetMethod(resource).getFirstHeader("accept").getValue());
+    }
+
+    @Test
+    public void testCreatePropertiesGetMethodProjected() {
+        final FedoraRepository mockRepo = mock(FedoraRepository.class);
+        when(mockRepo.getRepositoryUrl()).thenReturn(repoURL);
+        final FedoraObjectImpl object = new FedoraObjectImpl(mockRepo, helper, "/foo");
+        assertTrue(helper.createPropertiesGetMethod(object).getFirstHeader("Prefer").getValue()
+                .contains("include=\"http://fedora.info/definitions/v4/repository#EmbedResources\""));
+
+        object.setProjection(RdfLexicon.LAST_MODIFIED_DATE.asNode());
+        assertTrue(helper.createPropertiesGetMethod(object).getFirstHeader("Prefer").getValue()
+                .contains("omit=\"http://www.w3.org/ns/ldp#PreferContainment\""));
+
+        object.setProjection(RdfLexicon.LAST_MODIFIED_DATE.asNode(), RdfLexicon.CONTAINS.asNode());
+        assertTrue(helper.createPropertiesGetMethod(object).getFirstHeader("Prefer").getValue()
+                .contains("include=\"http://fedora.info/definitions/v4/repository#EmbedResources\""));
+    }
+
+    @Test
+    public void testCreatePropertiesGetMethodPreferProfile() {
+        final FedoraRepository mockRepo = mock(FedoraRepository.class);
+        when(mockRepo.getRepositoryUrl()).thenReturn(repoURL);
+        final FedoraObjectImpl object = new FedoraObjectImpl(mockRepo, helper, "/foo");
+        object.setPreferProfile(PreferProfile.MINIMAL);
+        assertEquals(PreferProfile.MINIMAL.getHeaderValue(),
+                helper.createPropertiesGetMethod(object).getFirstHeader("Prefer").getValue());
+
+        final FedoraResourceImpl resource = new FedoraResourceImpl(mockRepo, helper, "/bar");
+        assertNull(helper.createPropertiesGetMethod(resource).getFirstHeader("Prefer"));
+        resource.setPreferProfile(PreferProfile.NO_CONTAINMENT);
+        assertEquals(PreferProfile.NO_CONTAINMENT.getHeaderValue(),
+                helper.createPropertiesGetMethod(resource).getFirstHeader("Prefer").getValue());
+    }
+
+    @Test
+    public void testLoadPropertiesFallback() throws Exception {
+        assertFallback(406, "application/n-triples");
+        assertEquals(Lang.RDFXML, helper.getPropertiesLang());
+    }
+
+    @Test
+    public void testLoadPropertiesFallbackBadRequest() throws Exception {
+        assertFallback(400, "application/n-triples");
+        assertEquals(Lang.NTRIPLES, helper.getPropertiesLang());
+    }
+
+    @Test
+    public void testLoadPropertiesFallbackExplicitLang() throws Exception {
+        helper.setPropertiesLang(Lang.TURTLE);
+        assertFallback(406, "text/turtle");
+        assertEquals(Lang.TURTLE, helper.getPropertiesLang());
+    }
+
+    /**
+     * Load properties from a repository that rejects the first request with the status, and check that the
+     * request was retried with RDF/XML.
+     */
+    private void assertFallback(final int status, final String rejected) throws Exception {
+        final HttpResponse notAcceptable = new BasicHttpResponse(HttpVersion.HTTP_1_1, status, null);
+        final HttpResponse ok = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, null);
+        final ByteArrayEntity entity = new ByteArrayEntity(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">"
+                + "<rdf:Description rdf:about=\"http://localhost:8080/rest/foo\">"
+                + "<mixinTypes xmlns=\"http://fedora.info/definitions/v4/repository#\">fedora:resource</mixinTypes>"
+                + "</rdf:Description></rdf:RDF>").getBytes());
+        entity.setContentType("application/rdf+xml; charset=utf-8");
+        ok.setEntity(entity);
+        when(mockClient.execute(any(HttpGet.class), any(HttpContext.class))).thenReturn(notAcceptable, ok);
+
+        final FedoraRepository mockRepo = mock(FedoraRepository.class);
+        when(mockRepo.getRepositoryUrl()).thenReturn(repoURL);
+        final FedoraResourceImpl resource = helper.loadProperties(new FedoraResourceImpl(mockRepo, helper, "/foo"));
+        assertTrue(resource.getMixins().contains("fedora:resource"));
+
+        final ArgumentCaptor<HttpUriRequest> requests = ArgumentCaptor.forClass(HttpUriRequest.class);
+        verify(mockClient, times(2)).execute(requests.capture(), any(HttpContext.class));
+        assertEquals(rejected, requests.getAllValues().get(0).getFirstHeader("accept").getValue());
+        assertEquals("application/rdf+xml", requests.getAllValues().get(1).getFirstHeader("accept").getValue());
+    }
+
+    @Test
+    public void testLoadPropertiesNotModified() throws Exception {
+        final HttpResponse ok = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, null);
+        final ByteArrayEntity entity = new ByteArrayEntity(("<" + repoURL + "/foo> "
+                + "<http://fedora.info/definitions/v4/repository#mixinTypes> \"fedora:resource\" .\n").getBytes());
+        entity.setContentType("application/n-triples");
+        ok.setEntity(entity);
+        ok.setHeader("ETag", "W/\"abc\"");
+        final HttpResponse notModified = new BasicHttpResponse(HttpVersion.HTTP_1_1, 304, null);
+        when(mockClient.execute(any(HttpGet.class), any(HttpContext.class))).thenReturn(ok, notModified);
+
+        final PropertiesCache cache = new PropertiesCache(10);
+        helper.setPropertiesCache(cache);
+        final FedoraRepository mockRepo = mock(FedoraRepository.class);
+        when(mockRepo.getRepositoryUrl()).thenReturn(repoURL);
+        final FedoraResourceImpl first = helper.loadProperties(new FedoraResourceImpl(mockRepo, helper, "/foo"));
+        final FedoraResourceImpl second = helper.loadProperties(new FedoraResourceImpl(mockRepo, helper, "/foo"));
+        assertSame(first.getGraph(), second.getGraph());
+        assertEquals("W/\"abc\"", second.getEtagValue());
+        assertTrue(second.getMixins().contains("fedora:resource"));
+
+        final ArgumentCaptor<HttpUriRequest> requests = ArgumentCaptor.forClass(HttpUriRequest.class);
+        verify(mockClient, times(2)).execute(requests.capture(), any(HttpContext.class));
+        assertNull(requests.getAllValues().get(0).getFirstHeader("If-None-Match"));
+        assertEquals("W/\"abc\"", requests.getAllValues().get(1).getFirstHeader("If-None-Match").getValue());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getRevalidations());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testConcurrentLoadsCoalesced() throws Exception {
+        final CountDownLatch requested = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.execute(any(HttpGet.class), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(final InvocationOnMock invocation) throws InterruptedException {
+                requested.countDown();
+                release.await();
+                final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, null);
+                final ByteArrayEntity entity = new ByteArrayEntity(("<" + repoURL + "/foo> "
+                        + "<http://fedora.info/definitions/v4/repository#uuid> \"foo\" .").getBytes());
+                entity.setContentType("application/n-triples");
+                response.setEntity(entity);
+                return response;
+            }
+        });
+        final FedoraRepository mockRepo = mock(FedoraRepository.class);
+        when(mockRepo.getRepositoryUrl()).thenReturn(repoURL);
+
+        final List<FedoraResourceImpl> resources = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final FedoraResourceImpl resource = new FedoraResourceImpl(mockRepo, helper, "/foo");
+            resources.add(resource);
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        helper.loadProperties(resource);
+                    } catch (final FedoraException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }));
+        }
+
+        // let one thread start the request, then make sure the others are waiting for it before it completes
+        threads.get(0).start();
+        assertTrue(requested.await(5, SECONDS));
+        for (final Thread thread : threads.subList(1, threads.size())) {
+            thread.start();
+            while (thread.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+        }
+        release.countDown();
+        for (final Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        verify(mockClient, times(1)).execute(any(HttpGet.class), any(HttpContext.class));
+        for (final FedoraResourceImpl resource : resources) {
+            assertSame(resources.get(0).getGraph(), resource.getGraph());
+        }
+    }
+
+    @Test
+    public void testLoadAfterWriteNotCoalesced() throws Exception {
+        final CountDownLatch requested = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger requests = new AtomicInteger();
+        when(mockClient.execute(any(HttpGet.class), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(final InvocationOnMock invocation) throws InterruptedException {
+                final String uuid;
+                if (requests.incrementAndGet() == 1) {
+                    // the first load is in flight while the resource is changed
+                    requested.countDown();
+                    release.await();
+                    uuid = "before";
+                } else {
+                    uuid = "after";
+                }
+                final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, null);
+                final ByteArrayEntity entity = new ByteArrayEntity(("<" + repoURL + "/foo> "
+                        + "<http://fedora.info/definitions/v4/repository#uuid> \"" + uuid + "\" .").getBytes());
+                entity.setContentType("application/n-triples");
+                response.setEntity(entity);
+                return response;
+            }
+        });
+        final FedoraRepository mockRepo = mock(FedoraRepository.class);
+        when(mockRepo.getRepositoryUrl()).thenReturn(repoURL);
+
+        final Thread before = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    helper.loadProperties(new FedoraResourceImpl(mockRepo, helper, "/foo"));
+                } catch (final FedoraException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        before.start();
+        assertTrue(requested.await(5, SECONDS));
+
+        // a write lands, and the reload after it makes its own request instead of joining the earlier one
+        final FedoraResourceImpl resource = new FedoraResourceImpl(mockRepo, helper, "/foo");
+        helper.discardLoads(resource.getPropertiesPath());
+        helper.loadProperties(resource);
+        release.countDown();
+        before.join(5000);
+
+        verify(mockClient, times(2)).execute(any(HttpGet.class), any(HttpContext.class));
+        assertTrue(resource.getGraph().contains(createURI(repoURL + "/foo"),
+                createURI("http://fedora.info/definitions/v4/repository#uuid"), createLiteral("after")));
+    }
+
+    @Test
+    public void testConcurrentLoadsFailureCopied() throws Exception {
+        final CountDownLatch requested = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.execute(any(HttpGet.class), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(final InvocationOnMock invocation) throws InterruptedException {
+                requested.countDown();
+                release.await();
+                return new BasicHttpResponse(HttpVersion.HTTP_1_1, 404, "Not Found");
+            }
+        });
+        final FedoraRepository mockRepo = mock(FedoraRepository.class);
+        when(mockRepo.getRepositoryUrl()).thenReturn(repoURL);
+
+        // the leader's stackless failure is shared, so the follower gets its own copy with a stack trace
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final Thread leader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    helper.tryLoadProperties(new FedoraResourceImpl(mockRepo, helper, "/foo"));
+                } catch (final FedoraException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        final Thread follower = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    helper.loadProperties(new FedoraResourceImpl(mockRepo, helper, "/foo"));
+                } catch (final FedoraException e) {
+                    failure.set(e);
+                }
+            }
+        });
+        leader.start();
+        assertTrue(requested.await(5, SECONDS));
+        follower.start();
+        while (follower.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        verify(mockClient, times(1)).execute(any(HttpGet.class), any(HttpContext.class));
+        final Exception e = failure.get();
+        assertTrue(e instanceof NotFoundException);
+        assertTrue(e.getCause() instanceof NotFoundException);
+        assertEquals(e.getCause().getMessage(), e.getMessage());
+        assertEquals(0, e.getCause().getStackTrace().length);
+        assertTrue(e.getStackTrace().length > 0);
+    }
+
     @Test (expected = ForbiddenException.class)
     public void testLoadPropertiesForbidden() throws Exception {
         testLoadPropertiesWithStatus(403);
@@ -220,6 +546,178 @@ public class HttpHelperTest {
         testLoadPropertiesWithStatus(404);
     }
 
+    @Test
+    public void testExecuteUsesContextPerRequest() throws Exception {
+        when(mockClient.execute(any(HttpUriRequest.class), any(HttpContext.class)))
+                .thenReturn(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, null));
+        final HttpGet get = new HttpGet(repoURL);
+        helper.execute(get);
+        helper.execute(get);
+        final ArgumentCaptor<HttpContext> contexts = ArgumentCaptor.forClass(HttpContext.class);
+        verify(mockClient, times(2)).execute(any(HttpUriRequest.class), contexts.capture());
+        final HttpClientContext first = (HttpClientContext) contexts.getAllValues().get(0);
+        final HttpClientContext second = (HttpClientContext) contexts.getAllValues().get(1);
+        assertNotSame(first, second);
+        assertSame(first.getAuthCache(), second.getAuthCache());
+    }
+
+    @Test
+    public void testConcurrentLoadProperties() throws Exception {
+        final int threads = 64;
+        final int requestsPerThread = 20;
+        final FedoraRepository mockRepo = mock(FedoraRepository.class);
+        when(mockRepo.getRepositoryUrl()).thenReturn(repoURL);
+
+        final Set<HttpContext> contexts = newSetFromMap(new ConcurrentHashMap<HttpContext, Boolean>());
+        when(mockClient.execute(any(HttpGet.class), any(HttpContext.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(final InvocationOnMock invocation) {
+                final HttpUriRequest get = (HttpUriRequest) invocation.getArguments()[0];
+                contexts.add((HttpContext) invocation.getArguments()[1]);
+                final String uri = get.getURI().toString();
+                final String rdf = "<" + uri + "> <http://fedora.info/definitions/v4/repository#uuid> \""
+                        + uri + "\" .";
+                final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, null);
+                final ByteArrayEntity entity = new ByteArrayEntity(rdf.getBytes());
+                entity.setContentType("application/n-triples");
+                response.setEntity(entity);
+                response.setHeader("ETag", uri);
+                return response;
+            }
+        });
+
+        final ExecutorService executor = newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            results.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    start.await();
+                    int verified = 0;
+                    for (int r = 0; r < requestsPerThread; r++) {
+                        final String path = "/thread" + thread + "/object" + r;
+                        final FedoraResourceImpl resource = helper.loadProperties(
+                                new FedoraResourceImpl(mockRepo, helper, path));
+                        assertEquals(repoURL + path, resource.getEtagValue());
+                        final Triple triple = resource.getProperties().next();
+                        assertEquals(repoURL + path, triple.getSubject().getURI());
+                        assertEquals(repoURL + path, triple.getObject().getLiteralLexicalForm());
+                        verified++;
+                    }
+                    return verified;
+                }
+            }));
+        }
+        start.countDown();
+
+        int verified = 0;
+        for (final Future<Integer> result : results) {
+            verified += result.get(30, SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(threads * requestsPerThread, verified);
+        assertEquals(threads * requestsPerThread, contexts.size());
+    }
+
+    @Test
+    public void testPoolStats() {
+        final HttpHelper pooledHelper = new HttpHelper(repoURL, null, null, false,
+                new ConnectionPoolConfig().setMaxTotal(5).setMaxPerRoute(2));
+        try {
+            final ConnectionPoolStats stats = pooledHelper.getPoolStats();
+            assertEquals(5, stats.getMax());
+            assertEquals(0, stats.getLeased());
+            assertEquals(0, stats.getPending());
+        } finally {
+            pooledHelper.close();
+        }
+    }
+
+    @Test
+    public void testPoolStatsPreconfiguredClient() {
+        assertNull(helper.getPoolStats());
+    }
+
+    @Test
+    public void testTransport() throws IOException, FedoraException {
+        final List<TransportRequest> requests = new ArrayList<>();
+        final AtomicInteger aborted = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final HttpTransport transport = new HttpTransport() {
+            @Override
+            public TransportResponse execute(final TransportRequest request) {
+                requests.add(request);
+                return new TransportResponse() {
+                    @Override
+                    public int getStatusCode() {
+                        return 200;
+                    }
+
+                    @Override
+                    public String getReasonPhrase() {
+                        return "OK";
+                    }
+
+                    @Override
+                    public Map<String, List<String>> getHeaders() {
+                        final Map<String, List<String>> headers = new HashMap<>();
+                        headers.put("Content-Type", asList("text/plain"));
+                        headers.put("Content-Length", asList("5"));
+                        headers.put("Link", asList("<a>; rel=\"type\"", "<b>; rel=\"type\""));
+                        return headers;
+                    }
+
+                    @Override
+                    public InputStream getBody() {
+                        return new ByteArrayInputStream("hello".getBytes());
+                    }
+
+                    @Override
+                    public void abort() {
+                        aborted.incrementAndGet();
+                    }
+                };
+            }
+
+            @Override
+            public ConnectionPoolStats getPoolStats() {
+                return null;
+            }
+
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+            }
+        };
+        final HttpHelper transportHelper = new HttpHelper(repoURL, transport, false);
+
+        final HttpPut put = transportHelper.createContentPutMethod("/foo", null,
+                new FedoraContent().setContent(new ByteArrayInputStream("body".getBytes()))
+                                   .setContentType("text/plain"));
+        final HttpResponse response = transportHelper.execute(put);
+        assertEquals(200, response.getStatusLine().getStatusCode());
+        assertEquals(2, response.getHeaders("link").length);
+        assertEquals("text/plain", response.getEntity().getContentType().getValue());
+        assertEquals(5, response.getEntity().getContentLength());
+        assertEquals("hello", IOUtils.toString(response.getEntity().getContent()));
+
+        final TransportRequest request = requests.get(0);
+        assertEquals("PUT", request.getMethod());
+        assertEquals(repoURL + "/foo", request.getURI().toString());
+        assertEquals(asList("text/plain"), request.getHeaders().get("content-type"));
+        assertEquals("body", IOUtils.toString(request.getBody()));
+
+        // releasing the request ends the exchange with the transport
+        put.releaseConnection();
+        assertEquals(1, aborted.get());
+
+        transportHelper.close();
+        assertEquals(1, closed.get());
+        verifyZeroInteractions(mockClient);
+    }
+
     private FedoraResourceImpl testLoadPropertiesWithStatus( final int statusCode ) throws Exception {
         final String triples = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
             "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">" +
@@ -240,7 +738,7 @@ public class HttpHelperTest {
 
         when(mockClient.execute(any(HttpGet.class), any(HttpContext.class))).thenReturn(mockResponse);
         when(mockResponse.getEntity()).thenReturn(entity);
-        when(mockResponse.getHeaders("ETag")).thenReturn(etagHeaders);
+        when(mockResponse.getAllHeaders()).thenReturn(etagHeaders);
         when(mockResponse.getStatusLine()).thenReturn(mockStatus);
         when(mockStatus.getStatusCode()).thenReturn(statusCode);
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import static com.hp.hpl.jena.graph.NodeFactory.createAnon;
+import static com.hp.hpl.jena.graph.NodeFactory.createLiteral;
+import static com.hp.hpl.jena.graph.NodeFactory.createURI;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.UUID;
+
+import org.fcrepo.kernel.api.RdfLexicon;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.vocabulary.RDF;
+
+/**
+ * Node interner test.
+ *
+ * @author agent
+ * @since 2026-10-16
+ */
+public class NodeInternerTest {
+
+    private NodeInterner interner;
+
+    private final String mixin = RdfLexicon.HAS_MIXIN_TYPE.getURI();
+
+    private final Node subject = createURI("http://localhost:8080/rest/test");
+
+    private final Node mimeType = RdfLexicon.HAS_MIME_TYPE.asNode();
+
+    @Before
+    public void setUp() {
+        interner = new NodeInterner(3, 10);
+    }
+
+    @Test
+    public void testInternURI() {
+        final Node first = interner.intern(createURI(mixin));
+        final Node second = createURI(mixin);
+        assertSame(first, interner.intern(second));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void testInternLiteral() {
+        final Node first = interner.intern(Triple.create(subject, mimeType, createLiteral("text/plain"))).getObject();
+        final Node second = interner.intern(Triple.create(subject, mimeType, createLiteral("text/plain"))).getObject();
+        assertSame(first, second);
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    public void testLiteralNodeNotInterned() {
+        final Node literal = createLiteral("text/plain");
+        assertSame(literal, interner.intern(literal));
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    public void testLongLiteralNotInterned() {
+        interner.intern(Triple.create(subject, mimeType, createLiteral("fedora:Binary")));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void testOneOffLiteralsNotInterned() {
+        final NodeInterner defaultInterner = new NodeInterner();
+        final Node identifier = RdfLexicon.HAS_PRIMARY_IDENTIFIER.asNode();
+        final Node created = RdfLexicon.CREATED_DATE.asNode();
+        for (int i = 0; i < 2 * NodeInterner.DEFAULT_CAPACITY; i++) {
+            defaultInterner.intern(Triple.create(subject, identifier, createLiteral(UUID.randomUUID().toString())));
+            defaultInterner.intern(Triple.create(subject, created, createLiteral("2026-10-17T00:00:00." + i + "Z")));
+        }
+        assertEquals(2, defaultInterner.size());
+
+        // values of shared predicates are still interned once the one-off values have been seen
+        final Node first = defaultInterner.intern(Triple.create(subject, mimeType, createLiteral("text/plain")))
+                .getObject();
+        assertSame(first, defaultInterner.intern(Triple.create(subject, mimeType, createLiteral("text/plain")))
+                .getObject());
+    }
+
+    @Test
+    public void testBlankNodeNotInterned() {
+        final Node blank = createAnon();
+        assertSame(blank, interner.intern(blank));
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    public void testCapacity() {
+        final Node first = interner.intern(createURI(mixin + 0));
+        for (int i = 1; i < 5; i++) {
+            interner.intern(createURI(mixin + i));
+        }
+        assertEquals(3, interner.size());
+
+        final Node uncached = createURI(mixin + 4);
+        assertSame(uncached, interner.intern(uncached));
+        assertSame(first, interner.intern(createURI(mixin + 0)));
+    }
+
+    @Test
+    public void testInternTriple() {
+        final Node child = createURI("http://localhost:8080/rest/test/child");
+        final Triple typeTriple = interner.intern(Triple.create(subject, RDF.type.asNode(), createURI(mixin)));
+        final Triple containsTriple = interner.intern(Triple.create(subject, RdfLexicon.CONTAINS.asNode(), child));
+
+        assertSame(subject, typeTriple.getSubject());
+        assertSame(interner.intern(createURI(mixin)), typeTriple.getObject());
+        assertSame(child, containsTriple.getObject());
+        assertEquals(3, interner.size());
+    }
+}
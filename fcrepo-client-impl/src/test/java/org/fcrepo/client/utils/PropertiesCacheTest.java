@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import static com.hp.hpl.jena.graph.Factory.createDefaultGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.hp.hpl.jena.graph.Graph;
+
+/**
+ * Properties cache test.
+ *
+ * @author agent
+ * @since 2026-10-16
+ */
+public class PropertiesCacheTest {
+
+    private PropertiesCache cache;
+
+    private final Graph graph = createDefaultGraph();
+
+    @Before
+    public void setUp() {
+        cache = new PropertiesCache(2);
+    }
+
+    @Test
+    public void testGet() {
+        cache.put("/a", "etag-a", graph);
+        final PropertiesCache.Entry entry = cache.get("/a");
+        assertEquals("etag-a", entry.getEtag());
+        assertSame(graph, entry.getGraph());
+        assertNull(cache.get("/b"));
+        assertEquals(1, cache.getRevalidations());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        cache.put("/a", "etag-a", graph);
+        cache.put("/b", "etag-b", graph);
+        cache.get("/a");
+        cache.put("/c", "etag-c", graph);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("/a"));
+        assertNull(cache.get("/b"));
+        assertNotNull(cache.get("/c"));
+    }
+
+    @Test
+    public void testRemove() {
+        cache.put("/a", "etag-a", graph);
+        cache.remove("/a");
+        assertNull(cache.get("/a"));
+    }
+}
@@ -17,11 +17,19 @@ package org.fcrepo.client.utils;
 
 import static com.hp.hpl.jena.graph.NodeFactory.createURI;
 import static com.hp.hpl.jena.graph.Triple.create;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.apache.jena.riot.Lang.NTRIPLES;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+
+import org.apache.jena.atlas.lib.SinkToCollection;
 
 import org.fcrepo.client.FedoraException;
 import org.fcrepo.kernel.api.RdfLexicon;
@@ -36,6 +44,8 @@ import com.hp.hpl.jena.rdf.model.ResourceFactory;
 
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 /**
  *
  * @author lsitu
@@ -85,4 +95,70 @@ public class RDFSinkFilterTest {
         assertEquals("The number of triples doesn't matched.", graph.size(), 1);
         assertTrue(graph.contains(testCreatedDateTriple));
     }
+
+    @Test
+    public void testFilterTriplesAnyAndProperty() throws FedoraException {
+        final Graph graph = RDFSinkFilter.filterTriples(mockTriples, Node.ANY, RdfLexicon.CREATED_DATE.asNode());
+        assertEquals(4, graph.size());
+    }
+
+    @Test
+    public void testFilterTriplesBySubject() throws FedoraException {
+        final String subject = "<" + RdfLexicon.REPOSITORY_NAMESPACE + "test> ";
+        final String ntriples = subject + "<" + RdfLexicon.CREATED_DATE.getURI() + "> \"" + testDateValue + "\" .\n"
+                + "<" + RdfLexicon.REPOSITORY_NAMESPACE + "other> <" + RdfLexicon.CREATED_DATE.getURI() + "> \""
+                + testDateValue + "\" .\n";
+
+        final Graph graph = RDFSinkFilter.filterTriples(new ByteArrayInputStream(ntriples.getBytes()), NTRIPLES,
+                RdfLexicon.REPOSITORY_NAMESPACE, null, singleton(testCreatedDateTriple.getSubject()), Node.ANY);
+        assertEquals(1, graph.size());
+        assertTrue(graph.contains(testCreatedDateTriple));
+    }
+
+    @Test
+    public void testCreateFilter() {
+        final List<Triple> triples = new ArrayList<>();
+        final RDFSinkFilter filter = RDFSinkFilter.create(new SinkToCollection<>(triples), null, null,
+                RdfLexicon.CREATED_DATE.asNode(), RdfLexicon.HAS_MIXIN_TYPE.asNode());
+        filter.start();
+        filter.triple(testCreatedDateTriple);
+        filter.triple(testLastModifiedDateTriple);
+        filter.triple(testMixinTriple);
+        filter.finish();
+        assertEquals(asList(testCreatedDateTriple, testMixinTriple), triples);
+    }
+
+    @Test
+    public void testFilterTriplesFromStream() throws FedoraException {
+        final String subject = "<" + RdfLexicon.REPOSITORY_NAMESPACE + "test> ";
+        final String ntriples = subject + "<" + RdfLexicon.CREATED_DATE.getURI() + "> \"" + testDateValue + "\" .\n"
+                + subject + "<" + RdfLexicon.LAST_MODIFIED_DATE.getURI() + "> \"" + testDateValue + "\" .\n";
+
+        final Graph all = RDFSinkFilter.filterTriples(new ByteArrayInputStream(ntriples.getBytes()), NTRIPLES,
+                RdfLexicon.REPOSITORY_NAMESPACE, Node.ANY);
+        assertEquals(2, all.size());
+        assertTrue(all.contains(testCreatedDateTriple));
+        assertTrue(all.contains(testLastModifiedDateTriple));
+
+        final Graph filtered = RDFSinkFilter.filterTriples(new ByteArrayInputStream(ntriples.getBytes()), NTRIPLES,
+                RdfLexicon.REPOSITORY_NAMESPACE, RdfLexicon.CREATED_DATE.asNode());
+        assertEquals(1, filtered.size());
+        assertTrue(filtered.contains(testCreatedDateTriple));
+    }
+
+    @Test
+    public void testFilterTriplesInterned() throws FedoraException {
+        final NodeInterner interner = new NodeInterner();
+        final String ntriples = "<" + RdfLexicon.REPOSITORY_NAMESPACE + "test> <"
+                + RdfLexicon.CREATED_DATE.getURI() + "> \"" + testDateValue + "\" .\n";
+
+        final Triple first = RDFSinkFilter.filterTriples(new ByteArrayInputStream(ntriples.getBytes()), NTRIPLES,
+                RdfLexicon.REPOSITORY_NAMESPACE, interner, null, Node.ANY).find(Node.ANY, Node.ANY, Node.ANY).next();
+        final Triple second = RDFSinkFilter.filterTriples(new ByteArrayInputStream(ntriples.getBytes()), NTRIPLES,
+                RdfLexicon.REPOSITORY_NAMESPACE, interner, null, Node.ANY).find(Node.ANY, Node.ANY, Node.ANY).next();
+        assertEquals(testCreatedDateTriple, first);
+        assertSame(first.getPredicate(), second.getPredicate());
+        // dates are one-off values, which are not interned
+        assertNotSame(first.getObject(), second.getObject());
+    }
 }
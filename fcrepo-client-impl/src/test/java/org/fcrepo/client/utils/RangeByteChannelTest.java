@@ -0,0 +1,188 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client.utils;
+
+import static org.apache.http.HttpStatus.SC_OK;
+import static org.apache.http.HttpStatus.SC_PARTIAL_CONTENT;
+import static org.apache.http.HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Range request channel test.
+ *
+ * @author agent
+ * @since 2026-10-16
+ */
+public class RangeByteChannelTest {
+
+    private final byte[] content = new byte[100];
+
+    private final List<String> ranges = new ArrayList<>();
+
+    private HttpHelper mockHelper;
+
+    private boolean supportsRanges;
+
+    @Before
+    public void setUp() throws Exception {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        supportsRanges = true;
+        mockHelper = mock(HttpHelper.class);
+        when(mockHelper.createGetMethod(anyString(), any(Map.class))).thenAnswer(new Answer<HttpGet>() {
+            @Override
+            public HttpGet answer(final InvocationOnMock invocation) {
+                return new HttpGet("http://localhost:8080/rest" + invocation.getArguments()[0]);
+            }
+        });
+        when(mockHelper.execute(any(HttpUriRequest.class))).thenAnswer(new Answer<HttpResponse>() {
+            @Override
+            public HttpResponse answer(final InvocationOnMock invocation) {
+                final HttpUriRequest request = (HttpUriRequest) invocation.getArguments()[0];
+                final String range = request.getFirstHeader("Range").getValue();
+                ranges.add(range);
+                if (!supportsRanges) {
+                    final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, SC_OK, "OK");
+                    response.setEntity(new ByteArrayEntity(content));
+                    return response;
+                }
+                final String[] bounds = range.substring("bytes=".length()).split("-");
+                final int start = Integer.parseInt(bounds[0]);
+                final int end = Math.min(Integer.parseInt(bounds[1]), content.length - 1);
+                if (start >= content.length) {
+                    final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1,
+                            SC_REQUESTED_RANGE_NOT_SATISFIABLE, "Requested Range Not Satisfiable");
+                    response.setHeader("Content-Range", "bytes */" + content.length);
+                    return response;
+                }
+                final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, SC_PARTIAL_CONTENT,
+                        "Partial Content");
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+                response.setEntity(new ByteArrayEntity(Arrays.copyOfRange(content, start, end + 1)));
+                return response;
+            }
+        });
+    }
+
+    @Test
+    public void testRandomRead() throws IOException {
+        final RangeByteChannel channel = new RangeByteChannel(mockHelper, "/ds", 100, 10, 4, 2);
+        final ByteBuffer buffer = ByteBuffer.allocate(5);
+        channel.position(42);
+        assertEquals(5, channel.read(buffer));
+        assertArrayEquals(new byte[] { 42, 43, 44, 45, 46 }, buffer.array());
+        assertEquals(47, channel.position());
+        assertEquals(Arrays.asList("bytes=40-49"), ranges);
+    }
+
+    @Test
+    public void testCachedRead() throws IOException {
+        final RangeByteChannel channel = new RangeByteChannel(mockHelper, "/ds", 100, 10, 4, 2);
+        channel.position(42).read(ByteBuffer.allocate(5));
+        channel.position(40).read(ByteBuffer.allocate(10));
+        assertEquals(1, ranges.size());
+    }
+
+    @Test
+    public void testSequentialReadAhead() throws IOException {
+        final RangeByteChannel channel = new RangeByteChannel(mockHelper, "/ds", 100, 10, 4, 2);
+        final ByteBuffer buffer = ByteBuffer.allocate(100);
+        while (channel.read(buffer) > 0) {
+            // read the whole content
+        }
+        assertArrayEquals(content, buffer.array());
+        assertEquals(Arrays.asList("bytes=0-9", "bytes=10-39", "bytes=40-69", "bytes=70-99"), ranges);
+    }
+
+    @Test
+    public void testReadAtEnd() throws IOException {
+        final RangeByteChannel channel = new RangeByteChannel(mockHelper, "/ds", 100, 10, 4, 2);
+        channel.position(100);
+        assertEquals(-1, channel.read(ByteBuffer.allocate(5)));
+        assertEquals(0, ranges.size());
+    }
+
+    @Test
+    public void testUnknownSize() throws IOException {
+        final RangeByteChannel channel = new RangeByteChannel(mockHelper, "/ds", -1, 10, 4, 2);
+        assertEquals(100, channel.size());
+        channel.position(200);
+        assertEquals(-1, channel.read(ByteBuffer.allocate(5)));
+        assertEquals(Arrays.asList("bytes=0-9"), ranges);
+    }
+
+    @Test
+    public void testUnknownSizePastEnd() throws IOException {
+        final RangeByteChannel channel = new RangeByteChannel(mockHelper, "/ds", -1, 10, 4, 2);
+        channel.position(200);
+        assertEquals(-1, channel.read(ByteBuffer.allocate(5)));
+        assertEquals(100, channel.size());
+    }
+
+    @Test
+    public void testRangesNotSupported() throws IOException {
+        supportsRanges = false;
+        final RangeByteChannel channel = new RangeByteChannel(mockHelper, "/ds", -1, 10, 4, 2);
+        final ByteBuffer buffer = ByteBuffer.allocate(5);
+        channel.position(95);
+        assertEquals(5, channel.read(buffer));
+        assertArrayEquals(new byte[] { 95, 96, 97, 98, 99 }, buffer.array());
+        assertEquals(100, channel.size());
+    }
+
+    @Test (expected = NonWritableChannelException.class)
+    public void testWrite() throws IOException {
+        new RangeByteChannel(mockHelper, "/ds", 100).write(ByteBuffer.allocate(5));
+    }
+
+    @Test (expected = ClosedChannelException.class)
+    public void testClosed() throws IOException {
+        final RangeByteChannel channel = new RangeByteChannel(mockHelper, "/ds", 100);
+        channel.close();
+        channel.read(ByteBuffer.allocate(5));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testReadAheadLargerThanCache() {
+        new RangeByteChannel(mockHelper, "/ds", 100, 10, 2, 2);
+    }
+}
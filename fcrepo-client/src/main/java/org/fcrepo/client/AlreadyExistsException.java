@@ -56,4 +56,15 @@ public class AlreadyExistsException extends FedoraException {
     public AlreadyExistsException( final Throwable cause ) {
         super( cause );
     }
+
+    /**
+     * Constructor with reason and cause, optionally without a stack trace, for paths where the exception is
+     * expected and handled rather than reported.
+     * @param message Exception message.
+     * @param cause Exception cause.
+     * @param writableStackTrace Whether the stack trace should be filled in.
+    **/
+    public AlreadyExistsException( final String message, final Throwable cause, final boolean writableStackTrace ) {
+        super( message, cause, writableStackTrace );
+    }
 }
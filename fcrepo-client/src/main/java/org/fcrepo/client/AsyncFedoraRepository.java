@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the core FedoraRepository operations.  Each method returns immediately; the returned
+ * future is completed with the result, or completed exceptionally with a FedoraException, once the repository
+ * has responded.
+ * <p>
+ * Properties are loaded the same way as by FedoraRepository: concurrent loads of the same resource are
+ * coalesced, cached properties are revalidated, and RDF/XML is requested when the configured serialization is
+ * not supported.
+ * @author agent
+ * @since 2026-10-16
+**/
+public interface AsyncFedoraRepository extends Closeable {
+
+    /**
+     * Get the base URL for the repository.
+    **/
+    public String getRepositoryUrl();
+
+    /**
+     * Check whether a path is an existing resource.
+     * @param path The resource path.
+    **/
+    public CompletableFuture<Boolean> exists( String path );
+
+    /**
+     * Get an existing Datastream.
+     * @param path The Datastream path.
+    **/
+    public CompletableFuture<FedoraDatastream> getDatastream( String path );
+
+    /**
+     * Get an existing Object.
+     * @param path The Object path.
+    **/
+    public CompletableFuture<FedoraObject> getObject( String path );
+
+    /**
+     * Create a new Datastream.
+     * @param path The path of the new datastream.
+     * @param content Content of the new datastream.
+    **/
+    public CompletableFuture<FedoraDatastream> createDatastream( String path, FedoraContent content );
+
+    /**
+     * Create a new Object.
+     * @param path The Object path.
+    **/
+    public CompletableFuture<FedoraObject> createObject( String path );
+
+}
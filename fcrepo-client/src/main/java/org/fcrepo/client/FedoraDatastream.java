@@ -17,6 +17,9 @@ package org.fcrepo.client;
 
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 
 /**
  * A Fedora Datastream, a Resource that can contain content.
@@ -35,6 +38,29 @@ public interface FedoraDatastream extends FedoraResource {
     **/
     public InputStream getContent() throws FedoraException;
 
+    /**
+     * Write the datastream content to a channel, streaming it without holding it in memory.  The channel is
+     * not closed.
+     * @param channel The channel to write the content to.
+     * @return The number of bytes written.
+    **/
+    public long getContent( WritableByteChannel channel ) throws FedoraException;
+
+    /**
+     * Write the datastream content to a file, replacing the file if it already exists.  The content is written
+     * to a temporary file in the same directory and moved into place when complete, so a failed transfer
+     * leaves an existing file unchanged.
+     * @param file The file to write the content to.
+     * @return The number of bytes written.
+    **/
+    public long getContent( Path file ) throws FedoraException;
+
+    /**
+     * Get a read-only channel over the datastream content, for reading parts of the content without
+     * retrieving all of it.  The content is read in blocks with HTTP Range requests as the channel is read.
+    **/
+    public SeekableByteChannel getContentChannel() throws FedoraException;
+
     /**
      * Get the checksum of the datastream content.
     **/
@@ -53,4 +53,15 @@ public class FedoraException extends Exception {
     public FedoraException( final Throwable cause ) {
         super( cause );
     }
+
+    /**
+     * Constructor with reason and cause, optionally without a stack trace.  Filling in the stack trace is
+     * most of the cost of creating an exception, and is wasted where the exception is expected and handled.
+     * @param message Exception message.
+     * @param cause Exception cause.
+     * @param writableStackTrace Whether the stack trace should be filled in.
+    **/
+    protected FedoraException( final String message, final Throwable cause, final boolean writableStackTrace ) {
+        super( message, cause, true, writableStackTrace );
+    }
 }
@@ -16,6 +16,7 @@
 package org.fcrepo.client;
 
 import java.util.Collection;
+import java.util.Iterator;
 
 /**
  * A Fedora Object, a Resource which can contain Datastreams and/or other Objects.
@@ -30,6 +31,21 @@ public interface FedoraObject extends FedoraResource {
     **/
     public Collection<FedoraResource> getChildren( String mixin ) throws FedoraException;
 
+    /**
+     * Iterate over the paths of the children of the current Object.
+     * @param mixin If not null, limit to results that have this mixin.
+    **/
+    public Iterator<String> getChildPaths( String mixin ) throws FedoraException;
+
+    /**
+     * Iterate over the children of the current Object, creating each child only when it is reached so very
+     * large containers can be walked without holding every child in memory.  Children whose properties were
+     * not embedded in this Object's properties load them on first access.
+     * @param mixin If not null, limit to results that have this mixin.
+     * @param prefetch Number of children to load ahead of the iteration, if children are loaded in parallel.
+    **/
+    public Iterator<FedoraResource> iterateChildren( String mixin, int prefetch ) throws FedoraException;
+
     /**
      * Create a new resource with a repository-supplied path contained within
      * the resource exposed by this FedoraObject instance.
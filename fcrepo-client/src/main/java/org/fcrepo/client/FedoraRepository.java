@@ -18,7 +18,9 @@ package org.fcrepo.client;
 import java.io.InputStream;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
 
+import com.hp.hpl.jena.graph.Node;
 import com.hp.hpl.jena.graph.Triple;
 
 /**
@@ -46,12 +48,51 @@ public interface FedoraRepository {
     **/
     public FedoraDatastream getDatastream( String path ) throws FedoraException;
 
+    /**
+     * Get an existing Datastream, loading only some of its properties.  Triples with other predicates are
+     * not kept, and are not transferred where the repository allows them to be left out.
+     * @param path The Datastream path.
+     * @param properties The predicates to load.
+    **/
+    public FedoraDatastream getDatastream( String path, Node... properties ) throws FedoraException;
+
     /**
      * Get an existing Object.
      * @param path The Object path.
     **/
     public FedoraObject getObject( String path ) throws FedoraException;
 
+    /**
+     * Get an existing Object, loading only some of its properties.  Triples with other predicates are
+     * not kept, and are not transferred where the repository allows them to be left out.  Children are only
+     * listed if ldp:contains is one of the properties.
+     * @param path The Object path.
+     * @param properties The predicates to load.
+    **/
+    public FedoraObject getObject( String path, Node... properties ) throws FedoraException;
+
+    /**
+     * Get an existing Object, requesting its properties with a Prefer profile.  Later reloads of the Object
+     * and its children use the same profile.
+     * @param path The Object path.
+     * @param profile The Prefer profile.
+    **/
+    public FedoraObject getObject( String path, PreferProfile profile ) throws FedoraException;
+
+    /**
+     * Get an existing Datastream, or an empty Optional if it does not exist.  Unlike getDatastream, a missing
+     * Datastream does not cause an exception to be thrown.
+     * @param path The Datastream path.
+    **/
+    public Optional<FedoraDatastream> tryGetDatastream( String path ) throws FedoraException;
+
+    /**
+     * Get an existing Object, or an empty Optional if it does not exist.  Unlike getObject, a missing Object
+     * does not cause an exception to be thrown.
+     * @param path The Object path.
+    **/
+    public Optional<FedoraObject> tryGetObject( String path ) throws FedoraException;
+
     /**
      * Create a new Datastream.
      * @param path The path of the new datastream.
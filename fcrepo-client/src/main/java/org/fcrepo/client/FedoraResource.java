@@ -16,6 +16,7 @@
 package org.fcrepo.client;
 
 import java.io.InputStream;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
@@ -50,6 +51,11 @@ public interface FedoraResource {
     **/
     public Date getCreatedDate() throws FedoraException;
 
+    /**
+     * Get the creation time of this Resource.
+    **/
+    public Instant getCreatedInstant() throws FedoraException;
+
     /**
      * Get the ETag of this Resource.
     **/
@@ -60,6 +66,11 @@ public interface FedoraResource {
     **/
     public Date getLastModifiedDate() throws FedoraException;
 
+    /**
+     * Get the modification time of this Resource.
+    **/
+    public Instant getLastModifiedInstant() throws FedoraException;
+
     /**
      * Get the mixins assigned to this Resource.
     **/
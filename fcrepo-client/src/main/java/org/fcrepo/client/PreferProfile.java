@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client;
+
+/**
+ * Presets for the Prefer header sent when the properties of a resource are retrieved, trading completeness
+ * for the size of the response.
+ *
+ * @author agent
+ * @since 2026-10-16
+**/
+public enum PreferProfile {
+
+    /**
+     * Only the triples set by clients: containment, membership and server-managed triples are omitted.
+    **/
+    MINIMAL(new String[] {},
+            new String[] { PreferProfile.LDP_NAMESPACE + "PreferContainment",
+                           PreferProfile.LDP_NAMESPACE + "PreferMembership",
+                           PreferProfile.REPOSITORY_NAMESPACE + "ServerManaged" }),
+
+    /**
+     * All triples except containment, so large containers can be checked without listing their children.
+    **/
+    NO_CONTAINMENT(new String[] {},
+            new String[] { PreferProfile.LDP_NAMESPACE + "PreferContainment" }),
+
+    /**
+     * All triples, with the properties of children embedded so they can be listed without further requests.
+    **/
+    WITH_EMBEDDED(new String[] { PreferProfile.REPOSITORY_NAMESPACE + "EmbedResources" },
+            new String[] {}),
+
+    /**
+     * All triples, with the properties of children embedded and the triples of other resources referring to
+     * this one.
+    **/
+    FULL(new String[] { PreferProfile.REPOSITORY_NAMESPACE + "EmbedResources",
+                        PreferProfile.REPOSITORY_NAMESPACE + "InboundReferences" },
+            new String[] {});
+
+    private static final String LDP_NAMESPACE = "http://www.w3.org/ns/ldp#";
+    private static final String REPOSITORY_NAMESPACE = "http://fedora.info/definitions/v4/repository#";
+
+    private final String[] include;
+    private final String[] omit;
+
+    private PreferProfile( final String[] include, final String[] omit ) {
+        this.include = include;
+        this.omit = omit;
+    }
+
+    /**
+     * Get the value of the Prefer header requesting this profile.
+     *
+     * @return Prefer header value
+    **/
+    public String getHeaderValue() {
+        final StringBuilder value = new StringBuilder("return=representation");
+        appendURIs(value, "include", include);
+        appendURIs(value, "omit", omit);
+        return value.toString();
+    }
+
+    private static void appendURIs( final StringBuilder value, final String name, final String[] uris ) {
+        if ( uris.length > 0 ) {
+            value.append("; ").append(name).append("=\"").append(String.join(" ", uris)).append("\"");
+        }
+    }
+}
@@ -52,4 +52,12 @@ public class FedoraExceptionTest {
         assertEquals( npe, ex.getCause() );
         assertEquals( npe.toString(), ex.getMessage() );
     }
+
+    @Test
+    public void testFedoraExceptionStackless() {
+        final String message = "Test exception message";
+        final FedoraException ex = new FedoraException(message, null, false);
+        assertEquals( message, ex.getMessage() );
+        assertEquals( 0, ex.getStackTrace().length );
+    }
 }
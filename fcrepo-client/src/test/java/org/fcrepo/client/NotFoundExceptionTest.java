@@ -16,6 +16,7 @@
 package org.fcrepo.client;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -51,4 +52,13 @@ public class NotFoundExceptionTest extends FedoraExceptionTest {
         assertEquals( npe, ex.getCause() );
         assertEquals( npe.toString(), ex.getMessage() );
     }
+
+    @Test
+    public void testNotFoundExceptionStackless() {
+        final String message = "Test exception message";
+        final NotFoundException ex = new NotFoundException(message, null, false);
+        assertEquals( message, ex.getMessage() );
+        assertEquals( 0, ex.getStackTrace().length );
+        assertTrue( new NotFoundException(message, null, true).getStackTrace().length > 0 );
+    }
 }
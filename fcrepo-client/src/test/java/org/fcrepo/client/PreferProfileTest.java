@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015 DuraSpace, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.client;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Test of PreferProfile.
+ * @author agent
+ * @since 2026-10-16
+**/
+public class PreferProfileTest {
+
+    @Test
+    public void testHeaderValues() {
+        assertEquals("return=representation; omit=\"http://www.w3.org/ns/ldp#PreferContainment "
+                + "http://www.w3.org/ns/ldp#PreferMembership "
+                + "http://fedora.info/definitions/v4/repository#ServerManaged\"",
+                PreferProfile.MINIMAL.getHeaderValue());
+        assertEquals("return=representation; omit=\"http://www.w3.org/ns/ldp#PreferContainment\"",
+                PreferProfile.NO_CONTAINMENT.getHeaderValue());
+        assertEquals("return=representation; include=\"http://fedora.info/definitions/v4/repository#EmbedResources\"",
+                PreferProfile.WITH_EMBEDDED.getHeaderValue());
+        assertEquals("return=representation; include=\"http://fedora.info/definitions/v4/repository#EmbedResources "
+                + "http://fedora.info/definitions/v4/repository#InboundReferences\"",
+                PreferProfile.FULL.getHeaderValue());
+    }
+}